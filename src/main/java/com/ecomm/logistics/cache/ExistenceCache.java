@@ -0,0 +1,94 @@
+package com.ecomm.logistics.cache;
+
+import com.ecomm.logistics.repositories.OrganizationRepository;
+import com.ecomm.logistics.repositories.WebsiteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Read-through cache for the organization and website existence checks done on
+// every ingest. Only positive answers are cached, so a newly created org or website
+// is visible immediately; deletes and updates evict after commit. Lookups load
+// through the cache, so an eviction racing one waits for it and then removes what
+// it loaded rather than being overwritten by it.
+@Component
+public class ExistenceCache {
+
+    private final OrganizationRepository organizationRepository;
+    private final WebsiteRepository websiteRepository;
+    private final boolean enabled;
+    private final Cache<String, Boolean> organizations;
+    private final Cache<WebsiteKey, Boolean> websites;
+
+    public ExistenceCache(OrganizationRepository organizationRepository, WebsiteRepository websiteRepository,
+            MeterRegistry meterRegistry,
+            @Value("${logistics.cache.existence.enabled:true}") boolean enabled,
+            @Value("${logistics.cache.existence.ttl:5m}") Duration ttl,
+            @Value("${logistics.cache.existence.max-size:10000}") long maxSize) {
+        this.organizationRepository = organizationRepository;
+        this.websiteRepository = websiteRepository;
+        this.enabled = enabled;
+        this.organizations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.websites = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, organizations, "existence.organizations");
+        CaffeineCacheMetrics.monitor(meterRegistry, websites, "existence.websites");
+    }
+
+    public boolean organizationExists(String orgId) {
+        if (!enabled) {
+            return organizationRepository.existsById(orgId);
+        }
+        return organizations.get(orgId, key -> organizationRepository.existsById(key) ? Boolean.TRUE : null) != null;
+    }
+
+    public boolean websiteExists(String orgId, String websiteId) {
+        if (!enabled) {
+            return websiteRepository.existsByOrgIdAndId(orgId, websiteId);
+        }
+        return websites.get(new WebsiteKey(orgId, websiteId),
+                key -> websiteRepository.existsByOrgIdAndId(orgId, websiteId) ? Boolean.TRUE : null) != null;
+    }
+
+    public void evictOrganization(String orgId) {
+        afterCommit(() -> {
+            organizations.invalidate(orgId);
+            websites.asMap().keySet().removeIf(key -> key.orgId().equals(orgId));
+        });
+    }
+
+    public void evictWebsite(String orgId, String websiteId) {
+        afterCommit(() -> websites.invalidate(new WebsiteKey(orgId, websiteId)));
+    }
+
+    // Evicting before commit would let a concurrent reader re-cache the old row
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private record WebsiteKey(String orgId, String websiteId) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecomm.logistics.cache;
+
+import com.ecomm.logistics.repositories.TrackingRepository;
+import com.ecomm.logistics.repositories.TrackingRepository.TrackingNumberView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+// Resolves (orgId, trackingNumber) to a trackingId for carrier webhooks, which know
+// nothing but the number. Misses read idx_tracking_org_number. A number can repeat
+// across fulfillments (carriers recycle them), so it resolves to the newest tracking.
+// Only hits are cached, TrackingService evicts on create, renumber and delete, and the
+// most recent trackings are loaded at startup.
+@Component
+public class TrackingNumberIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackingNumberIndex.class);
+
+    private final TrackingRepository trackingRepository;
+    private final Cache<NumberKey, String> trackingIds;
+    private final int warmUpSize;
+
+    public TrackingNumberIndex(TrackingRepository trackingRepository, MeterRegistry meterRegistry,
+            @Value("${logistics.cache.tracking-numbers.ttl:1h}") Duration ttl,
+            @Value("${logistics.cache.tracking-numbers.max-size:100000}") long maxSize,
+            @Value("${logistics.cache.tracking-numbers.warm-up-size:10000}") int warmUpSize) {
+        this.trackingRepository = trackingRepository;
+        this.warmUpSize = warmUpSize;
+        this.trackingIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, trackingIds, "tracking.numbers");
+    }
+
+    // null when the org has no tracking with this number. The read runs inside the
+    // cache's compute for the key, so an eviction arriving meanwhile waits for it and
+    // then removes what it loaded, instead of being overwritten by a stale id.
+    public String resolve(String orgId, String trackingNumber) {
+        return trackingIds.get(new NumberKey(orgId, trackingNumber), key -> {
+            List<String> ids = trackingRepository.findIdsByOrgIdAndTrackingNumber(orgId, trackingNumber,
+                    PageRequest.of(0, 1));
+            return ids.isEmpty() ? null : ids.get(0);
+        });
+    }
+
+    public void evict(String orgId, String trackingNumber) {
+        afterCommit(() -> trackingIds.invalidate(new NumberKey(orgId, trackingNumber)));
+    }
+
+    // For an id whose row is already gone, so no need to wait for a commit
+    public void discard(String orgId, String trackingNumber, String staleTrackingId) {
+        trackingIds.asMap().remove(new NumberKey(orgId, trackingNumber), staleTrackingId);
+    }
+
+    // Newest first, so the first row seen for a number is the one resolve would pick
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUpSize <= 0) {
+            return;
+        }
+        List<TrackingNumberView> recent = trackingRepository.findRecentTrackingNumbers(PageRequest.of(0, warmUpSize));
+        for (TrackingNumberView view : recent) {
+            trackingIds.asMap().putIfAbsent(new NumberKey(view.getOrgId(), view.getTrackingNumber()), view.getId());
+        }
+        log.info("Warmed tracking number index with {} trackings", recent.size());
+    }
+
+    // Evicting before commit would let a concurrent reader re-cache the old row
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private record NumberKey(String orgId, String trackingNumber) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecomm.logistics.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Records logistics.invocations{layer, class, method, outcome} around each call.
+// The timers are looked up once per method, so the hot path is a map hit, two
+// clock reads and the histogram update.
+public class MethodTimingInterceptor implements MethodInterceptor {
+
+    public static final String METRIC = "logistics.invocations";
+
+    private static final String[] OUTCOMES = { "success", "error" };
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingInterceptor(Supplier<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer[] timer = timers.computeIfAbsent(invocation.getMethod(),
+                method -> register(method, AopUtils.getTargetClass(invocation.getThis())));
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            timer[success ? 0 : 1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] register(Method method, Class<?> targetClass) {
+        MeterRegistry registry = meterRegistry.get();
+        Timer[] timer = new Timer[OUTCOMES.length];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            timer[i] = Timer.builder(METRIC)
+                    .tag("layer", layer(targetClass))
+                    .tag("class", targetClass.getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", OUTCOMES[i])
+                    .register(registry);
+        }
+        return timer;
+    }
+
+    // Last package segment: "services" -> "service", "mappers" -> "mapper"
+    static String layer(Class<?> targetClass) {
+        String packageName = targetClass.getPackageName();
+        String segment = packageName.substring(packageName.lastIndexOf('.') + 1);
+        return segment.endsWith("s") ? segment.substring(0, segment.length() - 1) : segment;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecomm.logistics.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+// Times the public methods of the service and mapper beans (see MethodTimingInterceptor).
+// Beans that already carry a transactional proxy get the advice added in front of
+// the transaction, so the timing includes the commit. Repository calls are timed by
+// Spring Data itself (spring.data.repository.invocations).
+@Component
+@ConditionalOnProperty(name = "logistics.metrics.method-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final Set<String> PACKAGES = Set.of(
+            "com.ecomm.logistics.services",
+            "com.ecomm.logistics.mappers");
+
+    // The registry is resolved on first call; asking for it here would initialize
+    // it before the other post-processors are in place
+    public MethodTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new PublicMethods(),
+                new MethodTimingInterceptor(meterRegistry::getObject));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static final class PublicMethods extends StaticMethodMatcherPointcut {
+
+        private PublicMethods() {
+            setClassFilter(type -> PACKAGES.contains(type.getPackageName()));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+                    && !method.isSynthetic() && method.getDeclaringClass() != Object.class;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecomm.logistics.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+// Exports per-region hit, miss and put counts plus a hit ratio for the Hibernate
+// second-level cache, and the same for the query cache. Only registered when the
+// cache is on (the "l2cache" profile), which also turns statistics on.
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            bindRegion(registry, "hibernate.second.level.cache", region,
+                    stats -> count(stats.getCacheRegionStatistics(region), CacheRegionStatistics::getHitCount),
+                    stats -> count(stats.getCacheRegionStatistics(region), CacheRegionStatistics::getMissCount),
+                    stats -> count(stats.getCacheRegionStatistics(region), CacheRegionStatistics::getPutCount));
+        }
+        bindRegion(registry, "hibernate.query.cache", "query",
+                Statistics::getQueryCacheHitCount,
+                Statistics::getQueryCacheMissCount,
+                Statistics::getQueryCachePutCount);
+    }
+
+    private void bindRegion(MeterRegistry registry, String prefix, String region,
+            ToDoubleFunction<Statistics> hits, ToDoubleFunction<Statistics> misses,
+            ToDoubleFunction<Statistics> puts) {
+        FunctionCounter.builder(prefix + ".requests", statistics, hits)
+                .tag("region", region)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(prefix + ".requests", statistics, misses)
+                .tag("region", region)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(prefix + ".puts", statistics, puts)
+                .tag("region", region)
+                .register(registry);
+        Gauge.builder(prefix + ".hit.ratio", statistics, stats -> {
+            double hit = hits.applyAsDouble(stats);
+            double total = hit + misses.applyAsDouble(stats);
+            return total == 0 ? Double.NaN : hit / total;
+        })
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double count(CacheRegionStatistics region, ToLongFunction<CacheRegionStatistics> counter) {
+        return region != null ? counter.applyAsLong(region) : 0;
+    }
+}
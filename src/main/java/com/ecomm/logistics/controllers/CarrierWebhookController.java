@@ -0,0 +1,40 @@
+package com.ecomm.logistics.controllers;
+
+import com.ecomm.logistics.dtos.TrackingEventBatchResponse;
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.TrackingEventResponse;
+import com.ecomm.logistics.services.TrackingEventService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Event ingest for carrier webhooks, addressed by tracking number within the org
+@RestController
+@RequestMapping("/organizations/{orgId}/tracking/{trackingNumber}/events")
+public class CarrierWebhookController {
+
+    private final TrackingEventService eventService;
+
+    public CarrierWebhookController(TrackingEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public TrackingEventResponse createTrackingEvent(
+            @PathVariable String orgId,
+            @PathVariable String trackingNumber,
+            @Valid @RequestBody TrackingEventRequest request) {
+        return eventService.ingestEventByTrackingNumber(orgId, trackingNumber, request);
+    }
+
+    @PostMapping("/batch")
+    public List<TrackingEventBatchResponse> createTrackingEvents(
+            @PathVariable String orgId,
+            @PathVariable String trackingNumber,
+            @Valid @RequestBody List<TrackingEventRequest> requests) {
+        return eventService.ingestEventsByTrackingNumber(orgId, trackingNumber, requests);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecomm.logistics.controllers;
+
+import com.ecomm.logistics.dtos.ChangeEventPage;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.services.ChangeEventRelay;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+// Order, fulfillment, tracking and tracking event changes of an organization, in
+// commit order. Offsets come back with every event; without one a consumer starts
+// at the newest change.
+@RestController
+@RequestMapping("/changes")
+public class ChangeEventController {
+
+    private final ChangeEventRelay changeEventRelay;
+
+    public ChangeEventController(ChangeEventRelay changeEventRelay) {
+        this.changeEventRelay = changeEventRelay;
+    }
+
+    // Long-poll: answers as soon as there are events after the offset, or with an
+    // empty page and the same offset once wait runs out
+    @GetMapping
+    public DeferredResult<ChangeEventPage> pollChanges(
+            @RequestParam String orgId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Set<EntityType> types,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "30") int wait) {
+        return changeEventRelay.poll(orgId, after, types, limit, wait);
+    }
+
+    // Server-sent events, one per change with the offset as its id, so a reconnecting
+    // EventSource resumes through Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam String orgId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Set<EntityType> types,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeEventRelay.stream(orgId, lastEventId != null ? lastEventId : after, types);
+    }
+}
@@ -39,8 +39,9 @@ public class FulfillmentController {
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(defaultValue = "updatedAt,desc") String sort,
             @RequestParam(required = false) FulfillmentStatus status,
-            @RequestParam(required = false) String carrier) {
-        return fulfillmentService.listFulfillments(orderId, from, to, page, size, sort, status, carrier);
+            @RequestParam(required = false) String carrier,
+            @RequestParam(required = false) String cursor) {
+        return fulfillmentService.listFulfillments(orderId, from, to, page, size, sort, status, carrier, cursor);
     }
 
     @GetMapping("/search")
@@ -2,26 +2,45 @@ package com.ecomm.logistics.controllers;
 
 import com.ecomm.logistics.dtos.OrderRequest;
 import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.dtos.OrderSummaryResponse;
 import com.ecomm.logistics.dtos.PagedResponse;
 import com.ecomm.logistics.models.Order.FinancialStatus;
 import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
 import com.ecomm.logistics.models.Order.OrderStatus;
+import com.ecomm.logistics.services.OrderExportService;
+import com.ecomm.logistics.services.OrderImportService;
+import com.ecomm.logistics.services.OrderRollupService;
 import com.ecomm.logistics.services.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderRollupService orderRollupService;
+    private final OrderImportService orderImportService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+            OrderRollupService orderRollupService, OrderImportService orderImportService) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.orderRollupService = orderRollupService;
+        this.orderImportService = orderImportService;
     }
 
     @PostMapping
@@ -46,8 +65,11 @@ public class OrderController {
             @RequestParam(defaultValue = "updatedAt,desc") String sort,
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false) FinancialStatus financialStatus,
-            @RequestParam(required = false) FulfillmentOverallStatus fulfillmentStatus) {
-        return orderService.listOrders(orgId, websiteId, from, to, page, size, sort, status, financialStatus, fulfillmentStatus);
+            @RequestParam(required = false) FulfillmentOverallStatus fulfillmentStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> include) {
+        return orderService.listOrders(orgId, websiteId, from, to, page, size, sort, status, financialStatus,
+                fulfillmentStatus, cursor, include);
     }
 
     @GetMapping("/search")
@@ -56,9 +78,54 @@ public class OrderController {
             @RequestParam(required = false) String websiteId,
             @RequestParam(required = false) String externalOrderId,
             @RequestParam(required = false) String externalOrderNumber,
+            @RequestParam(required = false) String customerEmail,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size) {
-        return orderService.searchOrdersByExternal(orgId, websiteId, externalOrderId, externalOrderNumber, page, size);
+        return orderService.searchOrdersByExternal(orgId, websiteId, externalOrderId, externalOrderNumber,
+                customerEmail, page, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam String orgId,
+            @RequestParam(required = false) String websiteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        orderExportService.validateExport(orgId, from, to);
+        StreamingResponseBody body = out -> orderExportService.exportOrders(orgId, websiteId, from, to, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // One OrderRequest per line in, one OrderImportResult per line out as chunks commit
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importOrders(
+            @RequestParam String orgId,
+            @RequestParam String websiteId,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        orderImportService.validateImport(orgId, websiteId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        orderImportService.importOrders(orgId, websiteId, body, response.getOutputStream());
+    }
+
+    @GetMapping("/summary")
+    public OrderSummaryResponse summarizeOrders(
+            @RequestParam String orgId,
+            @RequestParam(required = false) String websiteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "status") String groupBy,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) FinancialStatus financialStatus,
+            @RequestParam(required = false) FulfillmentOverallStatus fulfillmentStatus) {
+        return orderRollupService.summarize(orgId, websiteId, from, to, groupBy, status, financialStatus,
+                fulfillmentStatus);
+    }
+
+    @PostMapping("/summary/rebuild")
+    public int rebuildOrderSummary(@RequestParam String orgId) {
+        return orderRollupService.rebuild(orgId);
     }
 
     @PutMapping("/{orderId}")
@@ -1,6 +1,7 @@
 package com.ecomm.logistics.controllers;
 
 import com.ecomm.logistics.dtos.PagedResponse;
+import com.ecomm.logistics.dtos.TrackingEventBatchResponse;
 import com.ecomm.logistics.dtos.TrackingEventRequest;
 import com.ecomm.logistics.dtos.TrackingEventResponse;
 import com.ecomm.logistics.dtos.TrackingRequest;
@@ -14,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/fulfillments/{fulfillmentId}/tracking")
@@ -45,8 +48,11 @@ public class TrackingController {
             @RequestParam(defaultValue = "updatedAt,desc") String sort,
             @RequestParam(required = false) TrackingStatus status,
             @RequestParam(required = false) String carrier,
-            @RequestParam(required = false) String trackingNumber) {
-        return trackingService.listTracking(fulfillmentId, from, to, page, size, sort, status, carrier, trackingNumber);
+            @RequestParam(required = false) String trackingNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> include) {
+        return trackingService.listTracking(fulfillmentId, from, to, page, size, sort, status, carrier, trackingNumber,
+                cursor, include);
     }
 
     @GetMapping("/search")
@@ -100,4 +106,13 @@ public class TrackingController {
         TrackingResponse tracking = trackingService.getTrackingById(fulfillmentId, trackingId);
         return eventService.ingestEvent(tracking.getOrgId(), trackingId, request);
     }
+
+    @PostMapping("/{trackingId}/events/batch")
+    public List<TrackingEventBatchResponse> createTrackingEvents(
+            @PathVariable String fulfillmentId,
+            @PathVariable String trackingId,
+            @Valid @RequestBody List<TrackingEventRequest> requests) {
+        TrackingResponse tracking = trackingService.getTrackingById(fulfillmentId, trackingId);
+        return eventService.ingestEvents(tracking.getOrgId(), trackingId, requests);
+    }
 }
@@ -0,0 +1,17 @@
+package com.ecomm.logistics.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventPage {
+    private List<ChangeEventResponse> events;
+    private long nextOffset;
+}
@@ -0,0 +1,23 @@
+package com.ecomm.logistics.dtos;
+
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class ChangeEventResponse {
+    // Resume point: pass as "after" (or Last-Event-ID) to continue past this event
+    private long offset;
+    private String orgId;
+    private EntityType entityType;
+    private String entityId;
+    private ChangeType changeType;
+    // Stored as JSON already, so it is written out as is
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime createdAt;
+}
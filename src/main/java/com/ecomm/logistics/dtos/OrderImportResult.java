@@ -0,0 +1,23 @@
+package com.ecomm.logistics.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderImportResult {
+    private long line;
+    private String externalOrderId;
+    private ResultStatus result;
+    private String orderId;
+    private String error;
+
+    public enum ResultStatus {
+        // EXISTING: already stored before this import; DUPLICATE: repeated earlier in it
+        CREATED, EXISTING, DUPLICATE, INVALID
+    }
+}
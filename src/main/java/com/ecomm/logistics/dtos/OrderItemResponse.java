@@ -1,10 +1,12 @@
 package com.ecomm.logistics.dtos;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+@EqualsAndHashCode
 @Getter
 @Setter
 public class OrderItemResponse {
@@ -3,12 +3,15 @@ package com.ecomm.logistics.dtos;
 import com.ecomm.logistics.models.Order.FinancialStatus;
 import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
 import com.ecomm.logistics.models.Order.OrderStatus;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Compared by OrderService to tell a no-op redelivery from an update
+@EqualsAndHashCode
 @Getter
 @Setter
 public class OrderResponse {
@@ -0,0 +1,33 @@
+package com.ecomm.logistics.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderSummaryResponse {
+    private String orgId;
+    private String websiteId;
+    private LocalDate from;
+    private LocalDate to;
+    private String groupBy;
+    private long totalOrders;
+    private BigDecimal totalAmount;
+    private List<Bucket> buckets;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private String key;
+        private long orderCount;
+        private BigDecimal orderTotal;
+    }
+}
@@ -15,7 +15,10 @@ public class PagedResponse<T> {
     private List<T> data;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Not computed in cursor mode, which skips the COUNT query
+    private Long totalElements;
+    private Integer totalPages;
     private boolean hasNext;
+    // Only set in cursor mode; pass it back as ?cursor= to fetch the next page
+    private String nextCursor;
 }
@@ -0,0 +1,20 @@
+package com.ecomm.logistics.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingEventBatchResponse {
+    private int index;
+    private ResultStatus result;
+    private TrackingEventResponse event;
+
+    public enum ResultStatus {
+        CREATED, DUPLICATE
+    }
+}
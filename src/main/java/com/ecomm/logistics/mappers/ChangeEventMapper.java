@@ -0,0 +1,21 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.ChangeEventResponse;
+import com.ecomm.logistics.models.OutboxEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeEventMapper {
+
+    public ChangeEventResponse toResponse(OutboxEvent event) {
+        ChangeEventResponse response = new ChangeEventResponse();
+        response.setOffset(event.getId());
+        response.setOrgId(event.getOrgId());
+        response.setEntityType(event.getEntityType());
+        response.setEntityId(event.getEntityId());
+        response.setChangeType(event.getChangeType());
+        response.setPayload(event.getPayload());
+        response.setCreatedAt(event.getCreatedAt());
+        return response;
+    }
+}
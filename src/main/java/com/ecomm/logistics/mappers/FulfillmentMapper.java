@@ -0,0 +1,41 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.FulfillmentResponse;
+import com.ecomm.logistics.models.Fulfillment;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FulfillmentMapper {
+
+    public Fulfillment toEntity(FulfillmentRequest request) {
+        Fulfillment fulfillment = new Fulfillment();
+        merge(request, fulfillment);
+        return fulfillment;
+    }
+
+    public void merge(FulfillmentRequest request, Fulfillment fulfillment) {
+        if (request.getExternalFulfillmentId() != null) fulfillment.setExternalFulfillmentId(request.getExternalFulfillmentId());
+        if (request.getStatus() != null) fulfillment.setStatus(request.getStatus());
+        if (request.getCarrier() != null) fulfillment.setCarrier(request.getCarrier());
+        if (request.getServiceLevel() != null) fulfillment.setServiceLevel(request.getServiceLevel());
+        if (request.getShippedAt() != null) fulfillment.setShippedAt(request.getShippedAt());
+        if (request.getDeliveredAt() != null) fulfillment.setDeliveredAt(request.getDeliveredAt());
+    }
+
+    public FulfillmentResponse toResponse(Fulfillment fulfillment) {
+        FulfillmentResponse response = new FulfillmentResponse();
+        response.setId(fulfillment.getId());
+        response.setOrgId(fulfillment.getOrgId());
+        response.setOrderId(fulfillment.getOrderId());
+        response.setExternalFulfillmentId(fulfillment.getExternalFulfillmentId());
+        response.setStatus(fulfillment.getStatus());
+        response.setCarrier(fulfillment.getCarrier());
+        response.setServiceLevel(fulfillment.getServiceLevel());
+        response.setShippedAt(fulfillment.getShippedAt());
+        response.setDeliveredAt(fulfillment.getDeliveredAt());
+        response.setCreatedAt(fulfillment.getCreatedAt());
+        response.setUpdatedAt(fulfillment.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderItemResponse;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.OrderItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class OrderMapper {
+
+    public Order toEntity(OrderRequest request) {
+        Order order = new Order();
+        merge(request, order);
+        if (request.getItems() != null) {
+            for (OrderItemRequest itemRequest : request.getItems()) {
+                order.getItems().add(toEntity(itemRequest));
+            }
+        }
+        return order;
+    }
+
+    public OrderItem toEntity(OrderItemRequest request) {
+        OrderItem item = new OrderItem();
+        merge(request, item);
+        return item;
+    }
+
+    // Copies non-null fields only, same as the old skip-null ModelMapper config.
+    // Line items are not touched here; reconciling them is up to the caller.
+    public void merge(OrderRequest request, Order order) {
+        if (request.getOrgId() != null) order.setOrgId(request.getOrgId());
+        if (request.getWebsiteId() != null) order.setWebsiteId(request.getWebsiteId());
+        if (request.getExternalOrderId() != null) order.setExternalOrderId(request.getExternalOrderId());
+        if (request.getExternalOrderNumber() != null) order.setExternalOrderNumber(request.getExternalOrderNumber());
+        if (request.getStatus() != null) order.setStatus(request.getStatus());
+        if (request.getFinancialStatus() != null) order.setFinancialStatus(request.getFinancialStatus());
+        if (request.getFulfillmentStatus() != null) order.setFulfillmentStatus(request.getFulfillmentStatus());
+        if (request.getCustomerEmail() != null) order.setCustomerEmail(request.getCustomerEmail());
+        if (request.getOrderTotal() != null) order.setOrderTotal(request.getOrderTotal());
+        if (request.getCurrency() != null) order.setCurrency(request.getCurrency());
+        if (request.getOrderCreatedAt() != null) order.setOrderCreatedAt(request.getOrderCreatedAt());
+        if (request.getOrderUpdatedAt() != null) order.setOrderUpdatedAt(request.getOrderUpdatedAt());
+    }
+
+    public void merge(OrderItemRequest request, OrderItem item) {
+        if (request.getExternalLineItemId() != null) item.setExternalLineItemId(request.getExternalLineItemId());
+        if (request.getSku() != null) item.setSku(request.getSku());
+        if (request.getName() != null) item.setName(request.getName());
+        if (request.getQuantity() != null) item.setQuantity(request.getQuantity());
+        if (request.getPrice() != null) item.setPrice(request.getPrice());
+    }
+
+    public OrderResponse toResponse(Order order) {
+        return toResponse(order, true);
+    }
+
+    // Without items the collection is never touched, so it is never loaded
+    public OrderResponse toResponse(Order order, boolean includeItems) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        response.setOrgId(order.getOrgId());
+        response.setWebsiteId(order.getWebsiteId());
+        response.setExternalOrderId(order.getExternalOrderId());
+        response.setExternalOrderNumber(order.getExternalOrderNumber());
+        response.setStatus(order.getStatus());
+        response.setFinancialStatus(order.getFinancialStatus());
+        response.setFulfillmentStatus(order.getFulfillmentStatus());
+        response.setCustomerEmail(order.getCustomerEmail());
+        response.setOrderTotal(order.getOrderTotal());
+        response.setCurrency(order.getCurrency());
+        response.setOrderCreatedAt(order.getOrderCreatedAt());
+        response.setOrderUpdatedAt(order.getOrderUpdatedAt());
+        response.setIngestedAt(order.getIngestedAt());
+        response.setCreatedAt(order.getCreatedAt());
+        response.setUpdatedAt(order.getUpdatedAt());
+
+        if (!includeItems) {
+            return response;
+        }
+        List<OrderItem> items = order.getItems();
+        List<OrderItemResponse> itemResponses = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            itemResponses.add(toResponse(item));
+        }
+        response.setItems(itemResponses);
+        return response;
+    }
+
+    public OrderItemResponse toResponse(OrderItem item) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setId(item.getId());
+        response.setExternalLineItemId(item.getExternalLineItemId());
+        response.setSku(item.getSku());
+        response.setName(item.getName());
+        response.setQuantity(item.getQuantity());
+        response.setPrice(item.getPrice());
+        response.setCreatedAt(item.getCreatedAt());
+        response.setUpdatedAt(item.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.OrganizationRequest;
+import com.ecomm.logistics.dtos.OrganizationResponse;
+import com.ecomm.logistics.models.Organization;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrganizationMapper {
+
+    public Organization toEntity(OrganizationRequest request) {
+        Organization organization = new Organization();
+        merge(request, organization);
+        return organization;
+    }
+
+    public void merge(OrganizationRequest request, Organization organization) {
+        if (request.getName() != null) organization.setName(request.getName());
+        if (request.getExternalId() != null) organization.setExternalId(request.getExternalId());
+        if (request.getStatus() != null) organization.setStatus(request.getStatus());
+    }
+
+    public OrganizationResponse toResponse(Organization organization) {
+        OrganizationResponse response = new OrganizationResponse();
+        response.setId(organization.getId());
+        response.setExternalId(organization.getExternalId());
+        response.setName(organization.getName());
+        response.setStatus(organization.getStatus());
+        response.setCreatedAt(organization.getCreatedAt());
+        response.setUpdatedAt(organization.getUpdatedAt());
+        return response;
+    }
+}
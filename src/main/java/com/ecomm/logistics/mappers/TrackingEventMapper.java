@@ -0,0 +1,43 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.TrackingEventResponse;
+import com.ecomm.logistics.models.TrackingEvent;
+import com.ecomm.logistics.utils.EventKeys;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TrackingEventMapper {
+
+    public TrackingEvent toEntity(TrackingEventRequest request) {
+        TrackingEvent event = new TrackingEvent();
+        event.setEventTime(request.getEventTime());
+        event.setEventCode(request.getEventCode());
+        event.setEventDescription(request.getEventDescription());
+        event.setEventCity(request.getEventCity());
+        event.setEventState(request.getEventState());
+        event.setEventCountry(request.getEventCountry());
+        event.setEventZip(request.getEventZip());
+        event.setSource(request.getSource());
+        return event;
+    }
+
+    public TrackingEventResponse toResponse(TrackingEvent event) {
+        TrackingEventResponse response = new TrackingEventResponse();
+        response.setId(event.getId());
+        response.setOrgId(event.getOrgId());
+        // getId on the lazy proxy does not initialize it
+        response.setTrackingId(event.getTracking() != null ? event.getTracking().getId() : null);
+        response.setEventTime(event.getEventTime());
+        response.setEventCode(event.getEventCode());
+        response.setEventDescription(event.getEventDescription());
+        response.setEventCity(event.getEventCity());
+        response.setEventState(event.getEventState());
+        response.setEventCountry(event.getEventCountry());
+        response.setEventZip(event.getEventZip());
+        response.setSource(event.getSource());
+        response.setEventHash(EventKeys.toHex(event.getEventKey()));
+        response.setCreatedAt(event.getCreatedAt());
+        return response;
+    }
+}
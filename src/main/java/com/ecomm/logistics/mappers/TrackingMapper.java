@@ -0,0 +1,67 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.TrackingEventResponse;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.dtos.TrackingResponse;
+import com.ecomm.logistics.models.Tracking;
+import com.ecomm.logistics.models.TrackingEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class TrackingMapper {
+
+    private final TrackingEventMapper eventMapper;
+
+    public TrackingMapper(TrackingEventMapper eventMapper) {
+        this.eventMapper = eventMapper;
+    }
+
+    public Tracking toEntity(TrackingRequest request) {
+        Tracking tracking = new Tracking();
+        merge(request, tracking);
+        return tracking;
+    }
+
+    // isPrimary is a primitive, so unlike the other fields it is always copied
+    public void merge(TrackingRequest request, Tracking tracking) {
+        if (request.getTrackingNumber() != null) tracking.setTrackingNumber(request.getTrackingNumber());
+        if (request.getCarrier() != null) tracking.setCarrier(request.getCarrier());
+        if (request.getTrackingUrl() != null) tracking.setTrackingUrl(request.getTrackingUrl());
+        if (request.getStatus() != null) tracking.setStatus(request.getStatus());
+        tracking.setPrimary(request.isPrimary());
+        if (request.getLastEventAt() != null) tracking.setLastEventAt(request.getLastEventAt());
+    }
+
+    public TrackingResponse toResponse(Tracking tracking) {
+        return toResponse(tracking, true);
+    }
+
+    public TrackingResponse toResponse(Tracking tracking, boolean includeEvents) {
+        TrackingResponse response = new TrackingResponse();
+        response.setId(tracking.getId());
+        response.setOrgId(tracking.getOrgId());
+        response.setFulfillmentId(tracking.getFulfillmentId());
+        response.setTrackingNumber(tracking.getTrackingNumber());
+        response.setCarrier(tracking.getCarrier());
+        response.setTrackingUrl(tracking.getTrackingUrl());
+        response.setStatus(tracking.getStatus());
+        response.setPrimary(tracking.isPrimary());
+        response.setLastEventAt(tracking.getLastEventAt());
+        response.setCreatedAt(tracking.getCreatedAt());
+        response.setUpdatedAt(tracking.getUpdatedAt());
+
+        if (!includeEvents) {
+            return response;
+        }
+        List<TrackingEvent> events = tracking.getEvents();
+        List<TrackingEventResponse> eventResponses = new ArrayList<>(events.size());
+        for (TrackingEvent event : events) {
+            eventResponses.add(eventMapper.toResponse(event));
+        }
+        response.setEvents(eventResponses);
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.WebsiteRequest;
+import com.ecomm.logistics.dtos.WebsiteResponse;
+import com.ecomm.logistics.models.Website;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WebsiteMapper {
+
+    public Website toEntity(WebsiteRequest request) {
+        Website website = new Website();
+        merge(request, website);
+        return website;
+    }
+
+    public void merge(WebsiteRequest request, Website website) {
+        if (request.getCode() != null) website.setCode(request.getCode());
+        if (request.getName() != null) website.setName(request.getName());
+        if (request.getPlatform() != null) website.setPlatform(request.getPlatform());
+        if (request.getDomain() != null) website.setDomain(request.getDomain());
+        if (request.getStatus() != null) website.setStatus(request.getStatus());
+    }
+
+    public WebsiteResponse toResponse(Website website) {
+        WebsiteResponse response = new WebsiteResponse();
+        response.setId(website.getId());
+        response.setOrgId(website.getOrgId());
+        response.setCode(website.getCode());
+        response.setName(website.getName());
+        response.setPlatform(website.getPlatform());
+        response.setDomain(website.getDomain());
+        response.setStatus(website.getStatus());
+        response.setCreatedAt(website.getCreatedAt());
+        response.setUpdatedAt(website.getUpdatedAt());
+        return response;
+    }
+}
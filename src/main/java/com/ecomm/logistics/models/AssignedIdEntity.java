@@ -0,0 +1,28 @@
+package com.ecomm.logistics.models;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+// Ids are assigned by IdGenerator before save, so Spring Data cannot tell a new
+// entity from a detached one and would merge, costing a SELECT before every INSERT.
+// Instances start out new and flip once persisted or loaded, so save() persists.
+@MappedSuperclass
+public abstract class AssignedIdEntity implements Persistable<String> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
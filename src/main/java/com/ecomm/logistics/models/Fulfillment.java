@@ -9,10 +9,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fulfillments")
+@Table(name = "fulfillments", indexes = {
+        @Index(name = "idx_fulfillments_org_order_external", columnList = "org_id, order_id, external_fulfillment_id"),
+        @Index(name = "idx_fulfillments_order_updated", columnList = "order_id, updated_at, id"),
+        @Index(name = "idx_fulfillments_org_order_status", columnList = "org_id, order_id, status")
+})
 @Getter
 @Setter
-public class Fulfillment {
+public class Fulfillment extends AssignedIdEntity {
 
     @Id
     private String id;
@@ -7,14 +7,22 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "uk_orders_org_website_external_order", columnList = "org_id, website_id, external_order_id", unique = true),
+        @Index(name = "idx_orders_org_ingested", columnList = "org_id, ingested_at, id"),
+        @Index(name = "idx_orders_org_updated", columnList = "org_id, updated_at, id"),
+        @Index(name = "idx_orders_org_website_ingested", columnList = "org_id, website_id, ingested_at"),
+        @Index(name = "idx_orders_org_external_number", columnList = "org_id, external_order_number"),
+        @Index(name = "idx_orders_org_customer_email", columnList = "org_id, customer_email")
+})
 @Getter
 @Setter
-public class Order {
+public class Order extends AssignedIdEntity {
 
     @Id
     private String id;
@@ -58,7 +66,7 @@ public class Order {
     private LocalDateTime orderUpdatedAt;
 
     @CreationTimestamp
-    @Column(name = "ingested_at", updatable = false)
+    @Column(name = "ingested_at", nullable = false, updatable = false)
     private LocalDateTime ingestedAt;
 
     @CreationTimestamp
@@ -69,6 +77,8 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Loaded for a whole page of orders at a time rather than one query per order
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
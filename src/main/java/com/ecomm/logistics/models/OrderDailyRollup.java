@@ -0,0 +1,69 @@
+package com.ecomm.logistics.models;
+
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
+import com.ecomm.logistics.models.Order.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "order_daily_rollups")
+@IdClass(OrderDailyRollup.Key.class)
+@Getter
+@Setter
+public class OrderDailyRollup {
+
+    @Id
+    @Column(name = "org_id")
+    private String orgId;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Id
+    @Column(name = "website_id")
+    private String websiteId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "financial_status")
+    private FinancialStatus financialStatus;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "fulfillment_status")
+    private FulfillmentOverallStatus fulfillmentStatus;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "order_total", nullable = false)
+    private BigDecimal orderTotal;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String orgId;
+        private LocalDate rollupDate;
+        private String websiteId;
+        private OrderStatus status;
+        private FinancialStatus financialStatus;
+        private FulfillmentOverallStatus fulfillmentStatus;
+    }
+}
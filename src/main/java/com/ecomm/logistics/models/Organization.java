@@ -3,16 +3,23 @@ package com.ecomm.logistics.models;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "organizations")
+@Table(name = "organizations", indexes = {
+        @Index(name = "idx_organizations_external_id", columnList = "external_id"),
+        @Index(name = "idx_organizations_status_created", columnList = "status, created_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organizations")
 @Getter
 @Setter
-public class Organization {
+public class Organization extends AssignedIdEntity {
 
     @Id
     private String id;
@@ -0,0 +1,78 @@
+package com.ecomm.logistics.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+// One posting of the substring search index: entity entityId has gram in field,
+// within scopeId (the org for org-owned rows, '' for organizations themselves).
+// Rows are written with plain JDBC by SearchIndexService; the mapping exists so
+// searches can join it in Criteria queries.
+@Entity
+@Table(name = "search_ngrams", indexes = {
+        @Index(name = "idx_search_ngrams_entity", columnList = "entity_type, entity_id")
+})
+@IdClass(SearchNgram.Key.class)
+@Getter
+@Setter
+public class SearchNgram {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "field_name")
+    private Field field;
+
+    @Id
+    @Column(name = "scope_id")
+    private String scopeId;
+
+    @Id
+    private long gram;
+
+    @Id
+    @Column(name = "entity_id")
+    private String entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    public enum EntityType {
+        ORDER, ORGANIZATION
+    }
+
+    // attribute is the entity property the field mirrors
+    @Getter
+    public enum Field {
+        ORDER_EXTERNAL_ORDER_ID(EntityType.ORDER, "externalOrderId"),
+        ORDER_EXTERNAL_ORDER_NUMBER(EntityType.ORDER, "externalOrderNumber"),
+        ORDER_CUSTOMER_EMAIL(EntityType.ORDER, "customerEmail"),
+        ORGANIZATION_NAME(EntityType.ORGANIZATION, "name"),
+        ORGANIZATION_EXTERNAL_ID(EntityType.ORGANIZATION, "externalId");
+
+        private final EntityType entityType;
+        private final String attribute;
+
+        Field(EntityType entityType, String attribute) {
+            this.entityType = entityType;
+            this.attribute = attribute;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Field field;
+        private String scopeId;
+        private long gram;
+        private String entityId;
+    }
+}
@@ -3,6 +3,7 @@ package com.ecomm.logistics.models;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,10 +12,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tracking")
+@Table(name = "tracking", indexes = {
+        @Index(name = "uk_tracking_fulfillment_number", columnList = "fulfillment_id, tracking_number", unique = true),
+        @Index(name = "idx_tracking_org_number", columnList = "org_id, tracking_number, created_at, id"),
+        @Index(name = "idx_tracking_created", columnList = "created_at, id"),
+        @Index(name = "idx_tracking_fulfillment_updated", columnList = "fulfillment_id, updated_at, id")
+})
 @Getter
 @Setter
-public class Tracking {
+public class Tracking extends AssignedIdEntity {
 
     @Id
     private String id;
@@ -51,6 +57,7 @@ public class Tracking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "tracking", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TrackingEvent> events = new ArrayList<>();
 
@@ -1,5 +1,6 @@
 package com.ecomm.logistics.models;
 
+import com.ecomm.logistics.utils.EventKeys;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,10 +9,14 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tracking_events")
+@Table(name = "tracking_events", indexes = {
+        @Index(name = "uk_tracking_events_event_key", columnList = "event_key", unique = true),
+        @Index(name = "idx_tracking_events_tracking_time", columnList = "tracking_id, event_time"),
+        @Index(name = "idx_tracking_events_rollup_pending", columnList = "rollup_pending, tracking_id")
+})
 @Getter
 @Setter
-public class TrackingEvent {
+public class TrackingEvent extends AssignedIdEntity {
 
     @Id
     private String id;
@@ -48,8 +53,12 @@ public class TrackingEvent {
     @Column(nullable = false)
     private EventSource source;
 
-    @Column(name = "event_hash", nullable = false, unique = true)
-    private String eventHash;
+    // See EventKeys
+    @Column(name = "event_key", nullable = false, length = EventKeys.LENGTH)
+    private byte[] eventKey;
+
+    @Column(name = "rollup_pending", nullable = false)
+    private boolean rollupPending;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -3,16 +3,24 @@ package com.ecomm.logistics.models;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "websites")
+@Table(name = "websites", indexes = {
+        @Index(name = "idx_websites_org_created", columnList = "org_id, created_at"),
+        @Index(name = "idx_websites_org_status", columnList = "org_id, status"),
+        @Index(name = "idx_websites_org_platform", columnList = "org_id, platform")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "websites")
 @Getter
 @Setter
-public class Website {
+public class Website extends AssignedIdEntity {
 
     @Id
     private String id;
@@ -1,12 +1,16 @@
 package com.ecomm.logistics.repositories;
 
 import com.ecomm.logistics.models.Fulfillment;
+import com.ecomm.logistics.models.Fulfillment.FulfillmentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +22,14 @@ public interface FulfillmentRepository extends JpaRepository<Fulfillment, String
             String externalFulfillmentId);
 
     Optional<Fulfillment> findByOrgIdAndId(String orgId, String id);
+
+    @Query("select f.status as status, count(f) as total from Fulfillment f"
+            + " where f.orgId = :orgId and f.orderId = :orderId group by f.status")
+    List<StatusCount> countByStatus(@Param("orgId") String orgId, @Param("orderId") String orderId);
+
+    interface StatusCount {
+        FulfillmentStatus getStatus();
+
+        long getTotal();
+    }
 }
@@ -0,0 +1,72 @@
+package com.ecomm.logistics.repositories;
+
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
+import com.ecomm.logistics.models.Order.OrderStatus;
+import com.ecomm.logistics.models.OrderDailyRollup;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollup, OrderDailyRollup.Key> {
+
+    // Single round-trip increment; concurrent writers to the same bucket serialize on
+    // the row instead of racing a read-modify-write. Native writes name their table
+    // so Hibernate does not invalidate every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_daily_rollups"))
+    @Query(value = "INSERT INTO order_daily_rollups (org_id, rollup_date, website_id, status, financial_status,"
+            + " fulfillment_status, order_count, order_total)"
+            + " VALUES (:orgId, :rollupDate, :websiteId, :status, :financialStatus, :fulfillmentStatus,"
+            + " :countDelta, :totalDelta)"
+            + " ON DUPLICATE KEY UPDATE order_count = order_count + :countDelta,"
+            + " order_total = order_total + :totalDelta", nativeQuery = true)
+    void increment(@Param("orgId") String orgId, @Param("rollupDate") LocalDate rollupDate,
+            @Param("websiteId") String websiteId, @Param("status") String status,
+            @Param("financialStatus") String financialStatus, @Param("fulfillmentStatus") String fulfillmentStatus,
+            @Param("countDelta") long countDelta, @Param("totalDelta") BigDecimal totalDelta);
+
+    // Next-key locks on the org's range: increments for the org, including ones that
+    // would insert a new bucket, wait until a rebuild has committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from OrderDailyRollup r where r.orgId = :orgId")
+    List<OrderDailyRollup> findForUpdateByOrgId(@Param("orgId") String orgId);
+
+    // A plain (non-locking) read, so it does not wait on orders whose writers are in
+    // turn waiting for the rollup lock
+    @Query("select cast(o.ingestedAt as LocalDate) as rollupDate, o.websiteId as websiteId, o.status as status,"
+            + " o.financialStatus as financialStatus, o.fulfillmentStatus as fulfillmentStatus,"
+            + " count(o) as orderCount, sum(o.orderTotal) as orderTotal"
+            + " from Order o where o.orgId = :orgId"
+            + " group by cast(o.ingestedAt as LocalDate), o.websiteId, o.status, o.financialStatus,"
+            + " o.fulfillmentStatus")
+    List<Bucket> aggregateOrders(@Param("orgId") String orgId);
+
+    interface Bucket {
+        LocalDate getRollupDate();
+
+        String getWebsiteId();
+
+        OrderStatus getStatus();
+
+        FinancialStatus getFinancialStatus();
+
+        FulfillmentOverallStatus getFulfillmentStatus();
+
+        long getOrderCount();
+
+        BigDecimal getOrderTotal();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecomm.logistics.repositories;
+
+import com.ecomm.logistics.models.Order;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface OrderExportRepository {
+
+    Stream<Order> streamForExport(String orgId, String websiteId, LocalDateTime from, LocalDateTime to);
+}
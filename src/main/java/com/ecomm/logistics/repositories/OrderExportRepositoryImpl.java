@@ -0,0 +1,42 @@
+package com.ecomm.logistics.repositories;
+
+import com.ecomm.logistics.models.Order;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// The fetch size is set on this query alone rather than on the connection URL.
+// Connector/J streams row by row only for Integer.MIN_VALUE, and while it does the
+// connection cannot run anything else, so the export must not trigger lazy loads.
+// H2 rejects a negative fetch size; the test profile sets a positive one.
+class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    OrderExportRepositoryImpl(EntityManager entityManager,
+            @Value("${logistics.export.fetch-size:-2147483648}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    // Forward-only stream for exports. Items are join fetched, and ordering by
+    // (ingestedAt, id) keeps each order's rows together.
+    @Override
+    public Stream<Order> streamForExport(String orgId, String websiteId, LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery("select o from Order o left join fetch o.items"
+                        + " where o.orgId = :orgId and (:websiteId is null or o.websiteId = :websiteId)"
+                        + " and o.ingestedAt >= :from and o.ingestedAt < :to"
+                        + " order by o.ingestedAt, o.id", Order.class)
+                .setParameter("orgId", orgId)
+                .setParameter("websiteId", websiteId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -1,17 +1,28 @@
 package com.ecomm.logistics.repositories;
 
 import com.ecomm.logistics.models.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecificationExecutor<Order>,
+                OrderExportRepository {
 
         Page<Order> findByOrgId(String orgId, Pageable pageable);
 
@@ -23,12 +34,49 @@ public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecif
         Optional<Order> findByOrgIdAndWebsiteIdAndExternalOrderId(String orgId, String websiteId,
                         String externalOrderId);
 
-        Page<Order> findByOrgIdAndExternalOrderNumberContainingIgnoreCase(String orgId, String externalOrderNumber,
-                        Pageable pageable);
+        // Set-based existence check for imports, served from uk_orders_org_website_external_order
+        @Query("select o.externalOrderId as externalOrderId, o.id as id from Order o"
+                        + " where o.orgId = :orgId and o.websiteId = :websiteId"
+                        + " and o.externalOrderId in :externalOrderIds")
+        List<ExternalOrderIdView> findExternalOrderIds(@Param("orgId") String orgId,
+                        @Param("websiteId") String websiteId,
+                        @Param("externalOrderIds") Collection<String> externalOrderIds);
 
-        Page<Order> findByOrgIdAndExternalOrderIdContainingIgnoreCase(String orgId, String externalOrderId,
-                        Pageable pageable);
+        // Updates take the rollup bucket they leave from the row they read, so
+        // concurrent writers to one order serialize on it
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        Optional<Order> findForUpdateById(String id);
 
-        Page<Order> findByOrgIdAndCustomerEmailContainingIgnoreCase(String orgId, String customerEmail,
-                        Pageable pageable);
+        // Insert-or-lock keyed on uk_orders_org_website_external_order. The duplicate
+        // branch writes nothing, so updated_at stays with @UpdateTimestamp, but it still
+        // leaves the existing row exclusively locked. Drivers disagree on the count it
+        // returns, so callers tell an insert from a duplicate with findIdForUpdate. The
+        // native space keeps Hibernate from invalidating every second-level cache region.
+        @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"))
+        @Query(value = "INSERT INTO orders (id, org_id, website_id, external_order_id, external_order_number,"
+                        + " status, financial_status, fulfillment_status, customer_email, order_total, currency,"
+                        + " order_created_at, order_updated_at, ingested_at, created_at, updated_at)"
+                        + " VALUES (:#{#order.id}, :#{#order.orgId}, :#{#order.websiteId},"
+                        + " :#{#order.externalOrderId}, :#{#order.externalOrderNumber}, :#{#order.status.name()},"
+                        + " :#{#order.financialStatus.name()}, :#{#order.fulfillmentStatus.name()},"
+                        + " :#{#order.customerEmail}, :#{#order.orderTotal}, :#{#order.currency},"
+                        + " :#{#order.orderCreatedAt}, :#{#order.orderUpdatedAt}, :#{#order.ingestedAt},"
+                        + " :#{#order.createdAt}, :#{#order.updatedAt})"
+                        + " ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+        int upsert(@Param("order") Order order);
+
+        // Id of the row the upsert left behind: the generated id after an insert, the
+        // stored one after a duplicate. A locking read, so it sees a row committed after
+        // this transaction's snapshot was taken.
+        @Query(value = "SELECT id FROM orders WHERE org_id = :orgId AND website_id = :websiteId"
+                        + " AND external_order_id = :externalOrderId FOR UPDATE", nativeQuery = true)
+        Optional<String> findIdForUpdate(@Param("orgId") String orgId, @Param("websiteId") String websiteId,
+                        @Param("externalOrderId") String externalOrderId);
+
+        interface ExternalOrderIdView {
+                String getExternalOrderId();
+
+                String getId();
+        }
 }
@@ -1,21 +1,18 @@
 package com.ecomm.logistics.repositories;
 
 import com.ecomm.logistics.models.Organization;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, String>, JpaSpecificationExecutor<Organization> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     java.util.Optional<Organization> findByExternalId(String externalId);
 
-    Page<Organization> findByNameContainingIgnoreCaseAndStatus(String name, Organization.OrgStatus status,
-            org.springframework.data.domain.Pageable pageable);
-
-    Page<Organization> findByExternalIdContaining(String externalId, org.springframework.data.domain.Pageable pageable);
-
     Page<Organization> findByStatus(Organization.OrgStatus status, org.springframework.data.domain.Pageable pageable);
-
-    Page<Organization> findByNameContainingIgnoreCase(String name, org.springframework.data.domain.Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package com.ecomm.logistics.repositories;
+
+import com.ecomm.logistics.models.OutboxEvent;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // One range scan of idx_outbox_events_org; upTo keeps readers behind the relay's
+    // watermark so an id committed late is never skipped
+    @Query("select e from OutboxEvent e where e.orgId = :orgId and e.id > :after and e.id <= :upTo"
+            + " and e.entityType in :entityTypes order by e.id")
+    List<OutboxEvent> findPage(@Param("orgId") String orgId, @Param("after") long after,
+            @Param("upTo") long upTo, @Param("entityTypes") Collection<EntityType> entityTypes, Pageable pageable);
+
+    @Query("select e.id from OutboxEvent e where e.id > :after order by e.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    // Ids the relay gave up on that have since committed
+    @Query("select e.id from OutboxEvent e where e.id in :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+
+    // Newest first off idx_outbox_events_created; the relay's starting point and the
+    // retention cutoff
+    @Query("select e.id from OutboxEvent e where e.createdAt < :before order by e.createdAt desc, e.id desc")
+    List<Long> findIdsCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -2,8 +2,13 @@ package com.ecomm.logistics.repositories;
 
 import com.ecomm.logistics.models.TrackingEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,5 +16,17 @@ import java.util.Optional;
 public interface TrackingEventRepository extends JpaRepository<TrackingEvent, String> {
     List<TrackingEvent> findByTrackingIdOrderByEventTimeDesc(String trackingId);
 
-    Optional<TrackingEvent> findByOrgIdAndEventHash(String orgId, String eventHash);
+    Optional<TrackingEvent> findByOrgIdAndEventKey(String orgId, byte[] eventKey);
+
+    List<TrackingEvent> findByOrgIdAndEventKeyIn(String orgId, Collection<byte[]> eventKeys);
+
+    Optional<TrackingEvent> findFirstByTrackingIdOrderByEventTimeDesc(String trackingId);
+
+    @Query("select distinct e.tracking.id from TrackingEvent e where e.rollupPending = true")
+    List<String> findTrackingIdsWithPendingRollup();
+
+    @Modifying
+    @Query("update TrackingEvent e set e.rollupPending = false"
+            + " where e.tracking.id = :trackingId and e.rollupPending = true and e.eventTime <= :upTo")
+    int clearRollupPending(@Param("trackingId") String trackingId, @Param("upTo") LocalDateTime upTo);
 }
@@ -1,12 +1,17 @@
 package com.ecomm.logistics.repositories;
 
 import com.ecomm.logistics.models.Tracking;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,7 +20,28 @@ public interface TrackingRepository extends JpaRepository<Tracking, String>, Jpa
 
     Optional<Tracking> findByOrgIdAndId(String orgId, String id);
 
-    Optional<Tracking> findByOrgIdAndTrackingNumber(String orgId, String trackingNumber);
-    
+    // Rollups and API updates write the whole row, so they serialize on it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Tracking> findForUpdateById(String id);
+
+    // Newest first, read backwards along idx_tracking_org_number
+    @Query("select t.id from Tracking t where t.orgId = :orgId and t.trackingNumber = :trackingNumber"
+            + " order by t.createdAt desc, t.id desc")
+    List<String> findIdsByOrgIdAndTrackingNumber(@Param("orgId") String orgId,
+            @Param("trackingNumber") String trackingNumber, Pageable pageable);
+
+    // Read backwards along idx_tracking_created
+    @Query("select t.orgId as orgId, t.trackingNumber as trackingNumber, t.id as id from Tracking t"
+            + " order by t.createdAt desc, t.id desc")
+    List<TrackingNumberView> findRecentTrackingNumbers(Pageable pageable);
+
     Optional<Tracking> findByFulfillmentIdAndTrackingNumber(String fulfillmentId, String trackingNumber);
+
+    interface TrackingNumberView {
+        String getOrgId();
+
+        String getTrackingNumber();
+
+        String getId();
+    }
 }
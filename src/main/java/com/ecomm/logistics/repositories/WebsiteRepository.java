@@ -1,10 +1,13 @@
 package com.ecomm.logistics.repositories;
 
 import com.ecomm.logistics.models.Website;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -21,6 +24,7 @@ public interface WebsiteRepository extends JpaRepository<Website, String>, JpaSp
 
     Page<Website> findByOrgIdAndDomainContainingIgnoreCase(String orgId, String domain, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Website> findByOrgIdAndId(String orgId, String id);
 
     boolean existsByOrgIdAndId(String orgId, String id);
@@ -0,0 +1,541 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.cache.ExistenceCache;
+import com.ecomm.logistics.dtos.ChangeEventPage;
+import com.ecomm.logistics.dtos.ChangeEventResponse;
+import com.ecomm.logistics.exceptions.BadRequestException;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.ChangeEventMapper;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Streams outbox_events to subscribers, over SSE or long-poll, from any offset still
+// retained. Auto-increment ids are handed out at insert but become visible at
+// commit, so a reader going by "id > offset" alone could step over a transaction
+// that commits late. One relay thread therefore keeps a watermark: the highest id
+// below which every id has either shown up or stayed missing for gap-timeout
+// (rolled back), and readers never look past it. Each advance wakes the streams
+// and answers the waiting long-polls, grouped per organization into one read.
+// OutboxService rolls back any write that would commit later than that; ids given
+// up on are still watched for a while, and one that turns up anyway is counted in
+// outbox.events.late and logged, since consumers past it never receive it.
+@Component
+public class ChangeEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventRelay.class);
+
+    private static final Set<EntityType> ALL_TYPES = EnumSet.allOf(EntityType.class);
+    // Anything wider is an auto-increment jump (restart, reserved blocks), not in-flight rows
+    private static final int MAX_TRACKED_GAP = 100_000;
+    private static final int PURGE_CHUNK_SIZE = 10_000;
+    // Abandoned ids are watched for this many gap-timeouts, up to MAX_ABANDONED of them
+    private static final int LATE_WATCH_GAP_TIMEOUTS = 30;
+    private static final int MAX_ABANDONED = 10_000;
+    private static final int LATE_CHECK_CHUNK_SIZE = 1_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChangeEventMapper changeEventMapper;
+    private final ExistenceCache existenceCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final Duration signalDelay;
+    private final Duration gapTimeout;
+    private final long gapTimeoutNanos;
+    private final int scanSize;
+    private final int streamBatchSize;
+    private final int maxLimit;
+    private final Duration maxWait;
+    private final Duration heartbeatInterval;
+    private final Duration streamTimeout;
+    private final Duration retention;
+    private final Semaphore streamPermits;
+    private final ScheduledExecutorService relayExecutor;
+    private final ExecutorService streamExecutor;
+    private final Counter streamed;
+    private final Counter polled;
+    private final Counter late;
+
+    // Relay thread only: first time each missing id was seen behind a visible one
+    private final NavigableMap<Long, Long> gapsSeenAt = new TreeMap<>();
+    // Relay thread only: ids the watermark moved past while missing, and when
+    private final NavigableMap<Long, Long> abandonedAt = new TreeMap<>();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean signalled = new AtomicBoolean();
+    private final Object advanced = new Object();
+    private volatile long watermark;
+    private volatile int pendingGaps;
+    private volatile boolean started;
+
+    public ChangeEventRelay(OutboxEventRepository outboxEventRepository, ChangeEventMapper changeEventMapper,
+            ExistenceCache existenceCache, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${logistics.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${logistics.outbox.relay.poll-interval:500ms}") Duration pollInterval,
+            @Value("${logistics.outbox.relay.signal-delay:20ms}") Duration signalDelay,
+            @Value("${logistics.outbox.relay.gap-timeout:10s}") Duration gapTimeout,
+            @Value("${logistics.outbox.relay.scan-size:1000}") int scanSize,
+            @Value("${logistics.outbox.stream.batch-size:100}") int streamBatchSize,
+            @Value("${logistics.outbox.stream.max-subscribers:100}") int maxSubscribers,
+            @Value("${logistics.outbox.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${logistics.outbox.stream.timeout:30m}") Duration streamTimeout,
+            @Value("${logistics.outbox.poll.max-limit:1000}") int maxLimit,
+            @Value("${logistics.outbox.poll.max-wait:60s}") Duration maxWait,
+            @Value("${logistics.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.changeEventMapper = changeEventMapper;
+        this.existenceCache = existenceCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.signalDelay = signalDelay;
+        this.gapTimeout = gapTimeout;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.scanSize = scanSize;
+        this.streamBatchSize = streamBatchSize;
+        this.maxLimit = maxLimit;
+        this.maxWait = maxWait;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streamTimeout = streamTimeout;
+        this.retention = retention;
+        this.streamPermits = new Semaphore(maxSubscribers);
+        this.relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.streamExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("outbox.relay.watermark", this, relay -> relay.watermark)
+                .description("Highest offset readers may see")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.gaps", this, relay -> relay.pendingGaps)
+                .description("Missing ids the watermark is waiting on")
+                .register(meterRegistry);
+        Gauge.builder("outbox.subscribers", streamPermits, permits -> maxSubscribers - permits.availablePermits())
+                .tag("mode", "stream")
+                .register(meterRegistry);
+        Gauge.builder("outbox.subscribers", waiters, Set::size)
+                .tag("mode", "poll")
+                .register(meterRegistry);
+        this.streamed = Counter.builder("outbox.events.delivered").tag("mode", "stream").register(meterRegistry);
+        this.polled = Counter.builder("outbox.events.delivered").tag("mode", "poll").register(meterRegistry);
+        this.late = Counter.builder("outbox.events.late")
+                .description("Events committed behind the watermark, never delivered")
+                .register(meterRegistry);
+    }
+
+    // Starts gap-timeout back, so rows still in flight from before a restart are
+    // waited for like any other gap. Disabled, events are still written but nothing
+    // scans for them and GET /changes answers 503.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusNanos(gapTimeoutNanos);
+        List<Long> ids = outboxEventRepository.findIdsCreatedBefore(since, PageRequest.of(0, 1));
+        watermark = ids.isEmpty() ? 0 : ids.get(0);
+        started = true;
+        long interval = pollInterval.toMillis();
+        relayExecutor.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        long lateCheck = gapTimeout.toMillis();
+        relayExecutor.scheduleWithFixedDelay(this::checkLate, lateCheck, lateCheck, TimeUnit.MILLISECONDS);
+        relayExecutor.scheduleWithFixedDelay(this::purgeExpired, 1, 60, TimeUnit.MINUTES);
+    }
+
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    // Woken after the writing transaction commits, so the rows are visible by then
+    public void signalAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signal();
+                }
+            });
+        } else {
+            signal();
+        }
+    }
+
+    // Signals landing within signal-delay of each other share one scan
+    public void signal() {
+        if (!started || !signalled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            relayExecutor.schedule(() -> {
+                signalled.set(false);
+                tick();
+            }, signalDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    public DeferredResult<ChangeEventPage> poll(String orgId, Long after, Set<EntityType> types, int limit,
+            int waitSeconds) {
+        validate(orgId, after);
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit);
+        }
+        if (waitSeconds < 0 || waitSeconds > maxWait.toSeconds()) {
+            throw new BadRequestException("wait must be between 0 and " + maxWait.toSeconds() + " seconds");
+        }
+        long offset = after != null ? after : watermark;
+        Set<EntityType> filter = filter(types);
+        DeferredResult<ChangeEventPage> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(waitSeconds));
+
+        long seen = watermark;
+        List<ChangeEventResponse> events = read(orgId, offset, filter, limit);
+        if (!events.isEmpty() || waitSeconds == 0) {
+            answer(result, events, offset);
+            return result;
+        }
+
+        Waiter waiter = new Waiter(orgId, offset, filter, limit, result);
+        result.onTimeout(() -> result.setResult(page(List.of(), offset)));
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // An advance between the read and the add did not see this waiter
+        if (watermark != seen) {
+            events = read(orgId, offset, filter, limit);
+            if (!events.isEmpty()) {
+                answer(result, events, offset);
+            }
+        }
+        return result;
+    }
+
+    public SseEmitter stream(String orgId, Long after, Set<EntityType> types) {
+        validate(orgId, after);
+        if (!streamPermits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many change stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(orgId, after != null ? after : watermark, filter(types),
+                emitter);
+        emitter.onCompletion(() -> close(subscription));
+        emitter.onTimeout(() -> close(subscription));
+        emitter.onError(e -> close(subscription));
+        try {
+            streamExecutor.execute(() -> deliver(subscription));
+        } catch (RejectedExecutionException e) {
+            streamPermits.release();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Change streams are shutting down");
+        }
+        return emitter;
+    }
+
+    private void validate(String orgId, Long after) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Change events are disabled");
+        }
+        if (!existenceCache.organizationExists(orgId)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + orgId);
+        }
+        if (after != null && after < 0) {
+            throw new BadRequestException("after must not be negative");
+        }
+    }
+
+    private void close(Subscription subscription) {
+        subscription.closed = true;
+        synchronized (advanced) {
+            advanced.notifyAll();
+        }
+    }
+
+    // A batch is read only once the previous one has been written to the socket, so
+    // a slow consumer holds back its own thread and nothing queues up in memory;
+    // the table is the buffer, and a reconnect resumes from the last event id.
+    private void deliver(Subscription subscription) {
+        SseEmitter emitter = subscription.emitter;
+        long offset = subscription.after;
+        try {
+            while (!subscription.closed) {
+                long seen = watermark;
+                List<ChangeEventResponse> events = read(subscription.orgId, offset, subscription.types,
+                        streamBatchSize);
+                if (events.isEmpty()) {
+                    if (!awaitAdvance(subscription, seen)) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    continue;
+                }
+                for (ChangeEventResponse event : events) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getOffset()))
+                            .name(event.getEntityType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                offset = events.get(events.size() - 1).getOffset();
+                streamed.increment(events.size());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or emitter already completed
+            log.debug("Change stream for {} closed at offset {}", subscription.orgId, offset);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException e) {
+            log.error("Change stream for {} failed at offset {}", subscription.orgId, offset, e);
+            emitter.completeWithError(e);
+        } finally {
+            streamPermits.release();
+        }
+    }
+
+    // False when the heartbeat interval passed without the watermark moving
+    private boolean awaitAdvance(Subscription subscription, long seen) throws InterruptedException {
+        long deadline = System.nanoTime() + heartbeatInterval.toNanos();
+        synchronized (advanced) {
+            while (watermark == seen && !subscription.closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(advanced, remaining);
+            }
+        }
+        return true;
+    }
+
+    private void tick() {
+        try {
+            while (advance()) {
+                // A full scan page moved the watermark; more may be committed behind it
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay scan failed at offset {}", watermark, e);
+        }
+    }
+
+    // One keyset page of ids past the watermark. The watermark moves up to the last
+    // id before the first gap that is still within gap-timeout; gaps further on are
+    // recorded too, so their clocks start when they were first seen.
+    private boolean advance() {
+        long stable = watermark;
+        List<Long> ids = outboxEventRepository.findIdsAfter(stable, PageRequest.of(0, scanSize));
+        long now = System.nanoTime();
+        long next = stable;
+        long previous = stable;
+        boolean blocked = false;
+        for (long id : ids) {
+            gapsSeenAt.remove(id);
+            if (id - previous - 1 <= MAX_TRACKED_GAP) {
+                for (long missing = previous + 1; missing < id; missing++) {
+                    Long seenAt = gapsSeenAt.putIfAbsent(missing, now);
+                    if (seenAt == null || now - seenAt < gapTimeoutNanos) {
+                        blocked = true;
+                    }
+                }
+            }
+            if (!blocked) {
+                next = id;
+            }
+            previous = id;
+        }
+        // Whatever is left below the new watermark timed out
+        NavigableMap<Long, Long> passed = gapsSeenAt.headMap(next, true);
+        for (Long missing : passed.keySet()) {
+            abandonedAt.put(missing, now);
+        }
+        passed.clear();
+        while (abandonedAt.size() > MAX_ABANDONED) {
+            abandonedAt.pollFirstEntry();
+        }
+        pendingGaps = gapsSeenAt.size();
+        if (next == stable) {
+            return false;
+        }
+        watermark = next;
+        synchronized (advanced) {
+            advanced.notifyAll();
+        }
+        if (!waiters.isEmpty()) {
+            answerWaiters();
+        }
+        return ids.size() == scanSize;
+    }
+
+    // Looks up the abandoned ids still watched; any that exist now committed after
+    // the watermark passed them
+    private void checkLate() {
+        try {
+            long expiredBefore = System.nanoTime() - gapTimeoutNanos * LATE_WATCH_GAP_TIMEOUTS;
+            abandonedAt.values().removeIf(at -> at - expiredBefore < 0);
+            List<Long> watched = new ArrayList<>(abandonedAt.keySet());
+            for (int from = 0; from < watched.size(); from += LATE_CHECK_CHUNK_SIZE) {
+                List<Long> chunk = watched.subList(from, Math.min(from + LATE_CHECK_CHUNK_SIZE, watched.size()));
+                List<Long> found = outboxEventRepository.findIdsIn(chunk);
+                if (!found.isEmpty()) {
+                    found.forEach(abandonedAt::remove);
+                    late.increment(found.size());
+                    log.warn("Outbox events {} committed after the relay gave up on them at watermark {};"
+                            + " consumers past them will not receive them", found, watermark);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox late commit check failed", e);
+        }
+    }
+
+    // One read per organization, from the lowest offset any of its waiters holds;
+    // a waiter whose events lie past a full page reads on its own
+    private void answerWaiters() {
+        Map<String, List<Waiter>> byOrg = waiters.stream().collect(Collectors.groupingBy(Waiter::orgId));
+        byOrg.forEach((orgId, orgWaiters) -> {
+            long from = Long.MAX_VALUE;
+            int limit = 0;
+            for (Waiter waiter : orgWaiters) {
+                from = Math.min(from, waiter.after());
+                limit = Math.max(limit, waiter.limit());
+            }
+            List<ChangeEventResponse> events = read(orgId, from, ALL_TYPES, limit);
+            boolean truncated = events.size() == limit;
+            for (Waiter waiter : orgWaiters) {
+                List<ChangeEventResponse> matched = new ArrayList<>();
+                for (ChangeEventResponse event : events) {
+                    if (matched.size() == waiter.limit()) {
+                        break;
+                    }
+                    if (event.getOffset() > waiter.after() && waiter.types().contains(event.getEntityType())) {
+                        matched.add(event);
+                    }
+                }
+                if (matched.isEmpty() && truncated) {
+                    matched = read(orgId, waiter.after(), waiter.types(), waiter.limit());
+                }
+                if (!matched.isEmpty()) {
+                    answer(waiter.result(), matched, waiter.after());
+                    waiters.remove(waiter);
+                }
+            }
+        });
+    }
+
+    private List<ChangeEventResponse> read(String orgId, long after, Set<EntityType> types, int limit) {
+        long upTo = watermark;
+        if (after >= upTo) {
+            return List.of();
+        }
+        return outboxEventRepository.findPage(orgId, after, upTo, types, PageRequest.of(0, limit)).stream()
+                .map(changeEventMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void answer(DeferredResult<ChangeEventPage> result, List<ChangeEventResponse> events, long after) {
+        if (result.setResult(page(events, after))) {
+            polled.increment(events.size());
+        }
+    }
+
+    private static ChangeEventPage page(List<ChangeEventResponse> events, long after) {
+        long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getOffset();
+        return new ChangeEventPage(events, nextOffset);
+    }
+
+    private static Set<EntityType> filter(Set<EntityType> types) {
+        return types == null || types.isEmpty() ? ALL_TYPES : EnumSet.copyOf(types);
+    }
+
+    // Deletes by primary key range up to the newest row past retention, in chunks
+    // that keep each statement's locks short
+    private void purgeExpired() {
+        try {
+            List<Long> cutoff = outboxEventRepository.findIdsCreatedBefore(
+                    LocalDateTime.now().minus(retention), PageRequest.of(0, 1));
+            if (cutoff.isEmpty()) {
+                return;
+            }
+            long upTo = Math.min(cutoff.get(0), watermark);
+            List<Long> first = outboxEventRepository.findIdsAfter(0, PageRequest.of(0, 1));
+            long from = first.isEmpty() ? upTo : first.get(0) - 1;
+            int deleted = 0;
+            while (from < upTo) {
+                long to = Math.min(from + PURGE_CHUNK_SIZE, upTo);
+                deleted += jdbcTemplate.update("DELETE FROM outbox_events WHERE id > ? AND id <= ?", from, to);
+                from = to;
+            }
+            if (deleted > 0) {
+                log.info("Purged {} outbox events older than {}", deleted, retention);
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox retention purge failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        started = false;
+        relayExecutor.shutdownNow();
+        streamExecutor.shutdownNow();
+        relayExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        streamExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private record Waiter(String orgId, long after, Set<EntityType> types, int limit,
+            DeferredResult<ChangeEventPage> result) {
+    }
+
+    private static final class Subscription {
+        private final String orgId;
+        private final long after;
+        private final Set<EntityType> types;
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+
+        private Subscription(String orgId, long after, Set<EntityType> types, SseEmitter emitter) {
+            this.orgId = orgId;
+            this.after = after;
+            this.types = types;
+            this.emitter = emitter;
+        }
+    }
+}
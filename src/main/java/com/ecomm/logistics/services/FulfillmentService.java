@@ -4,13 +4,18 @@ import com.ecomm.logistics.dtos.FulfillmentRequest;
 import com.ecomm.logistics.dtos.FulfillmentResponse;
 import com.ecomm.logistics.dtos.PagedResponse;
 import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.FulfillmentMapper;
+import com.ecomm.logistics.mappers.OrderMapper;
 import com.ecomm.logistics.models.Fulfillment;
 import com.ecomm.logistics.models.Fulfillment.FulfillmentStatus;
 import com.ecomm.logistics.models.Order;
 import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
 import com.ecomm.logistics.repositories.FulfillmentRepository;
 import com.ecomm.logistics.repositories.OrderRepository;
-import org.modelmapper.ModelMapper;
+import com.ecomm.logistics.utils.IdGenerator;
+import com.ecomm.logistics.utils.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,33 +25,35 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
-import java.security.SecureRandom;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class FulfillmentService {
 
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt", "updatedAt");
+
     private final FulfillmentRepository fulfillmentRepository;
     private final OrderRepository orderRepository;
-    private final ModelMapper modelMapper;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private final SecureRandom random = new SecureRandom();
+    private final FulfillmentMapper fulfillmentMapper;
+    private final IdGenerator idGenerator;
+    private final OrderRollupService rollupService;
+    private final OrderMapper orderMapper;
+    private final OutboxService outbox;
 
     public FulfillmentService(FulfillmentRepository fulfillmentRepository,
             OrderRepository orderRepository,
-            ModelMapper modelMapper) {
+            FulfillmentMapper fulfillmentMapper, IdGenerator idGenerator,
+            OrderRollupService rollupService, OrderMapper orderMapper, OutboxService outbox) {
         this.fulfillmentRepository = fulfillmentRepository;
         this.orderRepository = orderRepository;
-        this.modelMapper = modelMapper;
-    }
-
-    private String generateAlphanumericId(int length, String prefix) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
-        }
-        return prefix + sb.toString().substring(prefix.length());
+        this.fulfillmentMapper = fulfillmentMapper;
+        this.idGenerator = idGenerator;
+        this.rollupService = rollupService;
+        this.orderMapper = orderMapper;
+        this.outbox = outbox;
     }
 
     @Transactional
@@ -54,8 +61,8 @@ public class FulfillmentService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        Fulfillment fulfillment = modelMapper.map(request, Fulfillment.class);
-        fulfillment.setId(generateAlphanumericId(12, "FUL"));
+        Fulfillment fulfillment = fulfillmentMapper.toEntity(request);
+        fulfillment.setId(idGenerator.nextId("FUL"));
         fulfillment.setOrgId(order.getOrgId());
         fulfillment.setOrderId(orderId);
         if (fulfillment.getStatus() == null) {
@@ -64,7 +71,7 @@ public class FulfillmentService {
 
         Fulfillment saved = fulfillmentRepository.save(fulfillment);
         updateOrderFulfillmentStatus(orderId);
-        return modelMapper.map(saved, FulfillmentResponse.class);
+        return recordChange(ChangeType.CREATED, fulfillmentMapper.toResponse(saved));
     }
 
     public FulfillmentResponse getFulfillmentById(String orderId, String fulfillmentId) {
@@ -75,20 +82,19 @@ public class FulfillmentService {
             throw new ResourceNotFoundException("Fulfillment not found in this order");
         }
         
-        return modelMapper.map(fulfillment, FulfillmentResponse.class);
+        return fulfillmentMapper.toResponse(fulfillment);
     }
 
     public PagedResponse<FulfillmentResponse> listFulfillments(String orderId, 
             java.time.LocalDateTime from, java.time.LocalDateTime to,
             int page, int size, String sort,
-            FulfillmentStatus status, String carrier) {
+            FulfillmentStatus status, String carrier, String cursor) {
         String[] sortParts = sort.split(",");
         String property = sortParts[0];
         Sort.Direction direction = sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc")
                 ? Sort.Direction.ASC
                 : Sort.Direction.DESC;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
         Specification<Fulfillment> spec = (root, query, cb) -> {
             var predicates = new java.util.ArrayList<Predicate>();
             predicates.add(cb.equal(root.get("orderId"), orderId));
@@ -108,11 +114,16 @@ public class FulfillmentService {
             
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+        if (cursor != null) {
+            return listFulfillmentsByCursor(spec, property, direction, size, cursor);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
         Page<Fulfillment> fulfillmentPage = fulfillmentRepository.findAll(spec, pageable);
 
         return PagedResponse.<FulfillmentResponse>builder()
                 .data(fulfillmentPage.getContent().stream()
-                        .map(f -> modelMapper.map(f, FulfillmentResponse.class))
+                        .map(f -> fulfillmentMapper.toResponse(f))
                         .collect(Collectors.toList()))
                 .page(fulfillmentPage.getNumber())
                 .size(fulfillmentPage.getSize())
@@ -122,6 +133,40 @@ public class FulfillmentService {
                 .build();
     }
 
+    private PagedResponse<FulfillmentResponse> listFulfillmentsByCursor(Specification<Fulfillment> spec,
+            String property, Sort.Direction direction, int size, String cursor) {
+        KeysetCursor.validate(property, size, CURSOR_SORT_PROPERTIES);
+        Specification<Fulfillment> pageSpec = cursor.isBlank() ? spec
+                : spec.and(KeysetCursor.decode(cursor, property, direction).after());
+        List<Fulfillment> rows = fulfillmentRepository.findBy(pageSpec,
+                query -> query.sortBy(KeysetCursor.sort(property, direction)).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        String nextCursor = null;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+            Fulfillment last = rows.get(size - 1);
+            nextCursor = KeysetCursor.of(property, direction, cursorValue(last, property), last.getId()).encode();
+        }
+
+        return PagedResponse.<FulfillmentResponse>builder()
+                .data(rows.stream()
+                        .map(fulfillmentMapper::toResponse)
+                        .collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static LocalDateTime cursorValue(Fulfillment fulfillment, String property) {
+        return switch (property) {
+            case "createdAt" -> fulfillment.getCreatedAt();
+            case "updatedAt" -> fulfillment.getUpdatedAt();
+            default -> null;
+        };
+    }
+
     public PagedResponse<FulfillmentResponse> searchFulfillmentsByExternal(String orderId, String externalFulfillmentId,
             int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
@@ -135,7 +180,7 @@ public class FulfillmentService {
 
         return PagedResponse.<FulfillmentResponse>builder()
                 .data(fulfillmentPage.getContent().stream()
-                        .map(f -> modelMapper.map(f, FulfillmentResponse.class))
+                        .map(f -> fulfillmentMapper.toResponse(f))
                         .collect(Collectors.toList()))
                 .page(fulfillmentPage.getNumber())
                 .size(fulfillmentPage.getSize())
@@ -154,10 +199,10 @@ public class FulfillmentService {
             throw new ResourceNotFoundException("Fulfillment not found in this order");
         }
 
-        modelMapper.map(request, fulfillment);
+        fulfillmentMapper.merge(request, fulfillment);
         Fulfillment saved = fulfillmentRepository.save(fulfillment);
         updateOrderFulfillmentStatus(fulfillment.getOrderId());
-        return modelMapper.map(saved, FulfillmentResponse.class);
+        return recordChange(ChangeType.UPDATED, fulfillmentMapper.toResponse(saved));
     }
 
     @Transactional
@@ -178,7 +223,7 @@ public class FulfillmentService {
         
         Fulfillment saved = fulfillmentRepository.save(fulfillment);
         updateOrderFulfillmentStatus(fulfillment.getOrderId());
-        return modelMapper.map(saved, FulfillmentResponse.class);
+        return recordChange(ChangeType.UPDATED, fulfillmentMapper.toResponse(saved));
     }
 
     @Transactional
@@ -192,35 +237,58 @@ public class FulfillmentService {
         
         String orderIdToUpdate = fulfillment.getOrderId();
         fulfillmentRepository.delete(fulfillment);
+        outbox.record(EntityType.FULFILLMENT, ChangeType.DELETED, fulfillment.getOrgId(), fulfillmentId, null);
         updateOrderFulfillmentStatus(orderIdToUpdate);
     }
 
+    private FulfillmentResponse recordChange(ChangeType changeType, FulfillmentResponse response) {
+        outbox.record(EntityType.FULFILLMENT, changeType, response.getOrgId(), response.getId(), response);
+        return response;
+    }
+
+    // Derives the order's overall status from one grouped count over the
+    // (org_id, order_id, status) index instead of loading every fulfillment
     private void updateOrderFulfillmentStatus(String orderId) {
-        Order order = orderRepository.findById(orderId).orElse(null);
+        Order order = orderRepository.findForUpdateById(orderId).orElse(null);
         if (order == null)
             return;
 
-        List<Fulfillment> fulfillments = fulfillmentRepository
-                .findByOrgIdAndOrderId(order.getOrgId(), orderId, Pageable.unpaged()).getContent();
+        long total = 0;
+        long delivered = 0;
+        long shipped = 0;
+        long cancelled = 0;
+        for (FulfillmentRepository.StatusCount count : fulfillmentRepository.countByStatus(order.getOrgId(), orderId)) {
+            total += count.getTotal();
+            if (count.getStatus() == FulfillmentStatus.DELIVERED) {
+                delivered = count.getTotal();
+            } else if (count.getStatus() == FulfillmentStatus.SHIPPED) {
+                shipped = count.getTotal();
+            } else if (count.getStatus() == FulfillmentStatus.CANCELLED) {
+                cancelled = count.getTotal();
+            }
+        }
 
-        if (fulfillments.isEmpty()) {
-            order.setFulfillmentStatus(FulfillmentOverallStatus.UNFULFILLED);
+        FulfillmentOverallStatus status;
+        if (total == 0) {
+            status = FulfillmentOverallStatus.UNFULFILLED;
+        } else if (delivered == total) {
+            status = FulfillmentOverallStatus.FULFILLED;
+        } else if (cancelled == total) {
+            status = FulfillmentOverallStatus.CANCELLED;
+        } else if (shipped + delivered > 0) {
+            status = FulfillmentOverallStatus.PARTIAL;
         } else {
-            boolean allDelivered = fulfillments.stream().allMatch(f -> f.getStatus() == FulfillmentStatus.DELIVERED);
-            boolean anyShipped = fulfillments.stream().anyMatch(
-                    f -> f.getStatus() == FulfillmentStatus.SHIPPED || f.getStatus() == FulfillmentStatus.DELIVERED);
-            boolean allCancelled = fulfillments.stream().allMatch(f -> f.getStatus() == FulfillmentStatus.CANCELLED);
-
-            if (allDelivered) {
-                order.setFulfillmentStatus(FulfillmentOverallStatus.FULFILLED);
-            } else if (allCancelled) {
-                order.setFulfillmentStatus(FulfillmentOverallStatus.CANCELLED);
-            } else if (anyShipped) {
-                order.setFulfillmentStatus(FulfillmentOverallStatus.PARTIAL);
-            } else {
-                order.setFulfillmentStatus(FulfillmentOverallStatus.UNFULFILLED);
-            }
+            status = FulfillmentOverallStatus.UNFULFILLED;
+        }
+
+        if (order.getFulfillmentStatus() != status) {
+            OrderRollupService.Contribution before = OrderRollupService.Contribution.of(order);
+            order.setFulfillmentStatus(status);
+            orderRepository.save(order);
+            rollupService.recordChanged(before, order);
+            // Order consumers see the derived status change as an order update
+            outbox.record(EntityType.ORDER, ChangeType.UPDATED, order.getOrgId(), orderId,
+                    orderMapper.toResponse(order));
         }
-        orderRepository.save(order);
     }
 }
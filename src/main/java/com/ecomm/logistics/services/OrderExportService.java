@@ -0,0 +1,73 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.cache.ExistenceCache;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.exceptions.BadRequestException;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.OrderMapper;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.repositories.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class OrderExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderRepository orderRepository;
+    private final ExistenceCache existenceCache;
+    private final OrderMapper orderMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter orderWriter;
+
+    public OrderExportService(OrderRepository orderRepository, ExistenceCache existenceCache,
+            OrderMapper orderMapper, EntityManager entityManager, JsonMapper jsonMapper) {
+        this.orderRepository = orderRepository;
+        this.existenceCache = existenceCache;
+        this.orderMapper = orderMapper;
+        this.entityManager = entityManager;
+        this.orderWriter = jsonMapper.writerFor(OrderResponse.class);
+    }
+
+    // Checked before the response is committed so errors still map to a status code
+    public void validateExport(String orgId, LocalDateTime from, LocalDateTime to) {
+        if (!existenceCache.organizationExists(orgId)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + orgId);
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+    }
+
+    // Writes one JSON order per line straight to the output stream. Each order is
+    // detached once written, so memory stays flat regardless of the range size.
+    @Transactional(readOnly = true)
+    public long exportOrders(String orgId, String websiteId, LocalDateTime from, LocalDateTime to,
+            OutputStream outputStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        long count = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(orgId, websiteId, from, to)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                Order order = iterator.next();
+                out.write(orderWriter.writeValueAsBytes(orderMapper.toResponse(order)));
+                out.write('\n');
+                entityManager.detach(order);
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,373 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.cache.ExistenceCache;
+import com.ecomm.logistics.dtos.OrderImportResult;
+import com.ecomm.logistics.dtos.OrderImportResult.ResultStatus;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.OrderMapper;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
+import com.ecomm.logistics.models.Order.OrderStatus;
+import com.ecomm.logistics.models.OrderItem;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.repositories.OrderRepository;
+import com.ecomm.logistics.repositories.OrderRepository.ExternalOrderIdView;
+import com.ecomm.logistics.services.OutboxService.Change;
+import com.ecomm.logistics.services.SearchIndexService.Document;
+import com.ecomm.logistics.utils.IdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk order import for platform backfills. Reads one OrderRequest per NDJSON line
+// and, per chunk of lines: drops repeats within the import, looks up the external ids
+// already stored with one IN query, and writes the new orders, their items, search
+// postings and rollup deltas as JDBC batches in one transaction. Existing orders are
+// reported and left as they are. A result line per record is written and flushed as
+// each chunk commits, so a failed import can be resumed from the last result. Lines
+// that would not fit their columns are reported INVALID up front; a chunk the
+// database still rejects is written again one line at a time to find the culprit.
+@Service
+public class OrderImportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // A concurrent POST /orders can insert a row between the lookup and the insert;
+    // the chunk is then rolled back and looked up again
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+    // VARCHAR(255) text columns and DECIMAL(38, 2) amounts of orders and order_items
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_INTEGER_DIGITS = 36;
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (id, org_id, website_id, external_order_id,"
+            + " external_order_number, status, financial_status, fulfillment_status, customer_email, order_total,"
+            + " currency, order_created_at, order_updated_at, ingested_at, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ITEM = "INSERT INTO order_items (id, order_id, external_line_item_id, sku,"
+            + " name, quantity, price, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final OrderRepository orderRepository;
+    private final ExistenceCache existenceCache;
+    private final OrderMapper orderMapper;
+    private final IdGenerator idGenerator;
+    private final OrderRollupService rollupService;
+    private final SearchIndexService searchIndex;
+    private final OutboxService outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final Counter ordersCreated;
+    private final int chunkSize;
+
+    public OrderImportService(OrderRepository orderRepository, ExistenceCache existenceCache,
+            OrderMapper orderMapper, IdGenerator idGenerator, OrderRollupService rollupService,
+            SearchIndexService searchIndex, OutboxService outbox, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, JsonMapper jsonMapper, MeterRegistry meterRegistry,
+            @Value("${logistics.orders.import.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.existenceCache = existenceCache;
+        this.orderMapper = orderMapper;
+        this.idGenerator = idGenerator;
+        this.rollupService = rollupService;
+        this.searchIndex = searchIndex;
+        this.outbox = outbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requestReader = jsonMapper.readerFor(OrderRequest.class);
+        this.resultWriter = jsonMapper.writerFor(OrderImportResult.class);
+        this.ordersCreated = Counter.builder("orders.ingest").tag("result", "created").register(meterRegistry);
+        this.chunkSize = chunkSize;
+    }
+
+    private record Line(long number, OrderRequest request) {
+    }
+
+    // Checked before the response is committed so errors still map to a status code
+    public void validateImport(String orgId, String websiteId) {
+        if (!existenceCache.organizationExists(orgId)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + orgId);
+        }
+        if (!existenceCache.websiteExists(orgId, websiteId)) {
+            throw new ResourceNotFoundException(
+                    "Website not found with id: " + websiteId + " for organization: " + orgId);
+        }
+    }
+
+    public long importOrders(String orgId, String websiteId, InputStream inputStream, OutputStream outputStream)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        Set<String> seen = new HashSet<>();
+        List<OrderImportResult> results = new ArrayList<>(chunkSize);
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        long created = 0;
+        long number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            OrderImportResult rejected = parse(number, text, orgId, websiteId, seen, chunk);
+            if (rejected != null) {
+                results.add(rejected);
+            }
+            if (chunk.size() == chunkSize) {
+                created += importChunk(orgId, websiteId, chunk, results);
+                write(results, out);
+            }
+        }
+        created += importChunk(orgId, websiteId, chunk, results);
+        write(results, out);
+        return created;
+    }
+
+    // Adds the line to the chunk, or returns why it is not imported
+    private OrderImportResult parse(long number, String text, String orgId, String websiteId, Set<String> seen,
+            List<Line> chunk) {
+        OrderRequest request;
+        try {
+            request = requestReader.readValue(text);
+        } catch (JacksonException e) {
+            return new OrderImportResult(number, null, ResultStatus.INVALID, null,
+                    "Malformed JSON: " + e.getOriginalMessage());
+        }
+        String externalOrderId = request.getExternalOrderId();
+        String error = null;
+        if (externalOrderId == null || externalOrderId.isBlank()) {
+            error = "externalOrderId is required";
+        } else if (request.getOrderTotal() == null) {
+            error = "orderTotal is required";
+        } else if (request.getOrgId() != null && !request.getOrgId().equals(orgId)) {
+            error = "orgId does not match the import: " + request.getOrgId();
+        } else if (request.getWebsiteId() != null && !request.getWebsiteId().equals(websiteId)) {
+            error = "websiteId does not match the import: " + request.getWebsiteId();
+        } else {
+            error = checkColumns(request);
+        }
+        if (error != null) {
+            return new OrderImportResult(number, externalOrderId, ResultStatus.INVALID, null, error);
+        }
+        // The first occurrence wins
+        if (!seen.add(externalOrderId)) {
+            return new OrderImportResult(number, externalOrderId, ResultStatus.DUPLICATE, null, null);
+        }
+        chunk.add(new Line(number, request));
+        return null;
+    }
+
+    private static String checkColumns(OrderRequest request) {
+        String error = firstNonNull(
+                checkLength("externalOrderId", request.getExternalOrderId()),
+                checkLength("externalOrderNumber", request.getExternalOrderNumber()),
+                checkLength("customerEmail", request.getCustomerEmail()),
+                checkLength("currency", request.getCurrency()),
+                checkAmount("orderTotal", request.getOrderTotal()));
+        if (error != null || request.getItems() == null) {
+            return error;
+        }
+        for (int i = 0; i < request.getItems().size() && error == null; i++) {
+            OrderItemRequest item = request.getItems().get(i);
+            String prefix = "items[" + i + "].";
+            error = firstNonNull(
+                    checkLength(prefix + "externalLineItemId", item.getExternalLineItemId()),
+                    checkLength(prefix + "sku", item.getSku()),
+                    checkLength(prefix + "name", item.getName()),
+                    checkAmount(prefix + "price", item.getPrice()));
+        }
+        return error;
+    }
+
+    private static String checkLength(String field, String value) {
+        if (value != null && value.codePointCount(0, value.length()) > MAX_TEXT_LENGTH) {
+            return field + " is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    // The fraction is rounded to the column's scale; only the integer part can overflow
+    private static String checkAmount(String field, BigDecimal value) {
+        if (value != null && value.precision() - value.scale() > MAX_INTEGER_DIGITS) {
+            return field + " has more than " + MAX_INTEGER_DIGITS + " integer digits";
+        }
+        return null;
+    }
+
+    private static String firstNonNull(String... errors) {
+        for (String error : errors) {
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    // A rejected chunk is retried line by line, so one bad row costs its own line
+    // rather than the rest of the import
+    private int importChunk(String orgId, String websiteId, List<Line> chunk, List<OrderImportResult> results) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        try {
+            return writeWithRetries(orgId, websiteId, chunk, results);
+        } catch (DuplicateKeyException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            int created = 0;
+            for (Line line : chunk) {
+                List<Line> single = new ArrayList<>(List.of(line));
+                try {
+                    created += writeWithRetries(orgId, websiteId, single, results);
+                } catch (DuplicateKeyException duplicate) {
+                    throw duplicate;
+                } catch (DataIntegrityViolationException rejected) {
+                    results.add(new OrderImportResult(line.number(), line.request().getExternalOrderId(),
+                            ResultStatus.INVALID, null,
+                            "Rejected by the database: " + rejected.getMostSpecificCause().getMessage()));
+                }
+            }
+            chunk.clear();
+            return created;
+        }
+    }
+
+    private int writeWithRetries(String orgId, String websiteId, List<Line> chunk,
+            List<OrderImportResult> results) {
+        for (int attempt = 1; ; attempt++) {
+            List<OrderImportResult> chunkResults = new ArrayList<>(chunk.size());
+            try {
+                Integer created = transactionTemplate.execute(
+                        status -> writeChunk(orgId, websiteId, chunk, chunkResults));
+                results.addAll(chunkResults);
+                chunk.clear();
+                ordersCreated.increment(created);
+                return created;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private int writeChunk(String orgId, String websiteId, List<Line> chunk, List<OrderImportResult> results) {
+        List<String> externalOrderIds = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            externalOrderIds.add(line.request().getExternalOrderId());
+        }
+        Map<String, String> existing = new HashMap<>();
+        for (ExternalOrderIdView view : orderRepository.findExternalOrderIds(orgId, websiteId, externalOrderIds)) {
+            existing.put(view.getExternalOrderId(), view.getId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(chunk.size());
+        List<Object[]> orderRows = new ArrayList<>(chunk.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Document> documents = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            String externalOrderId = line.request().getExternalOrderId();
+            String existingId = existing.get(externalOrderId);
+            if (existingId != null) {
+                results.add(new OrderImportResult(line.number(), externalOrderId, ResultStatus.EXISTING,
+                        existingId, null));
+                continue;
+            }
+            Order order = newOrder(line.request(), orgId, websiteId, now);
+            orders.add(order);
+            orderRows.add(orderRow(order));
+            for (OrderItem item : order.getItems()) {
+                item.setId(idGenerator.nextId("ITM"));
+                item.setCreatedAt(now);
+                item.setUpdatedAt(now);
+                itemRows.add(new Object[] { item.getId(), order.getId(), item.getExternalLineItemId(),
+                        item.getSku(), item.getName(), item.getQuantity(), item.getPrice(), now, now });
+            }
+            documents.add(Document.of(order));
+            results.add(new OrderImportResult(line.number(), externalOrderId, ResultStatus.CREATED,
+                    order.getId(), null));
+        }
+
+        if (!orders.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER, orderRows);
+            if (!itemRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ITEM, itemRows);
+            }
+            searchIndex.indexAll(documents);
+            rollupService.recordCreated(orders);
+            List<Change> changes = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                changes.add(new Change(orgId, order.getId(), orderMapper.toResponse(order)));
+            }
+            outbox.recordAll(EntityType.ORDER, ChangeType.CREATED, changes);
+        }
+        return orders.size();
+    }
+
+    // Same defaults as OrderService.createOrder
+    private Order newOrder(OrderRequest request, String orgId, String websiteId, LocalDateTime now) {
+        Order order = orderMapper.toEntity(request);
+        order.setId(idGenerator.nextId("ORD"));
+        order.setOrgId(orgId);
+        order.setWebsiteId(websiteId);
+        if (order.getStatus() == null)
+            order.setStatus(OrderStatus.CREATED);
+        if (order.getFinancialStatus() == null)
+            order.setFinancialStatus(FinancialStatus.UNKNOWN);
+        if (order.getFulfillmentStatus() == null)
+            order.setFulfillmentStatus(FulfillmentOverallStatus.UNKNOWN);
+        order.setIngestedAt(now);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        return order;
+    }
+
+    private static Object[] orderRow(Order order) {
+        return new Object[] { order.getId(), order.getOrgId(), order.getWebsiteId(), order.getExternalOrderId(),
+                order.getExternalOrderNumber(), order.getStatus().name(), order.getFinancialStatus().name(),
+                order.getFulfillmentStatus().name(), order.getCustomerEmail(), order.getOrderTotal(),
+                order.getCurrency(), order.getOrderCreatedAt(), order.getOrderUpdatedAt(), order.getIngestedAt(),
+                order.getCreatedAt(), order.getUpdatedAt() };
+    }
+
+    private void write(List<OrderImportResult> results, OutputStream out) throws IOException {
+        results.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+        for (OrderImportResult result : results) {
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
+        results.clear();
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.cache.ExistenceCache;
+import com.ecomm.logistics.dtos.OrderSummaryResponse;
+import com.ecomm.logistics.exceptions.BadRequestException;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
+import com.ecomm.logistics.models.Order.OrderStatus;
+import com.ecomm.logistics.models.OrderDailyRollup;
+import com.ecomm.logistics.repositories.OrderDailyRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Maintains order_daily_rollups: one row per (org, ingest date, website, status,
+// financial status, fulfillment status) holding the order count and orderTotal sum.
+// Writers pass the order's bucket before and after a change and only the difference
+// is applied, so summaries never need to touch the orders table. A transaction that
+// touches several buckets increments them in key order, so two writers moving orders
+// between the same buckets in opposite directions queue on the first row instead of
+// deadlocking.
+@Service
+public class OrderRollupService {
+
+    private static final Map<String, String> GROUP_BY_PROPERTIES = Map.of(
+            "day", "rollupDate",
+            "website", "websiteId",
+            "status", "status",
+            "financialStatus", "financialStatus",
+            "fulfillmentStatus", "fulfillmentStatus");
+
+    // The primary key order of order_daily_rollups, which stores the enums by name
+    private static final Comparator<Contribution> BUCKET_ORDER = Comparator.comparing(Contribution::orgId)
+            .thenComparing(Contribution::rollupDate)
+            .thenComparing(Contribution::websiteId)
+            .thenComparing(bucket -> bucket.status().name())
+            .thenComparing(bucket -> bucket.financialStatus().name())
+            .thenComparing(bucket -> bucket.fulfillmentStatus().name());
+
+    private final OrderDailyRollupRepository rollupRepository;
+    private final ExistenceCache existenceCache;
+    private final EntityManager entityManager;
+
+    public OrderRollupService(OrderDailyRollupRepository rollupRepository, ExistenceCache existenceCache,
+            EntityManager entityManager) {
+        this.rollupRepository = rollupRepository;
+        this.existenceCache = existenceCache;
+        this.entityManager = entityManager;
+    }
+
+    // The bucket an order currently counts towards
+    public record Contribution(String orgId, LocalDate rollupDate, String websiteId, OrderStatus status,
+            FinancialStatus financialStatus, FulfillmentOverallStatus fulfillmentStatus, BigDecimal orderTotal) {
+
+        public static Contribution of(Order order) {
+            return new Contribution(order.getOrgId(), order.getIngestedAt().toLocalDate(), order.getWebsiteId(),
+                    order.getStatus(), order.getFinancialStatus(), order.getFulfillmentStatus(),
+                    order.getOrderTotal() != null ? order.getOrderTotal() : BigDecimal.ZERO);
+        }
+
+        private boolean sameBucket(Contribution other) {
+            return orgId.equals(other.orgId) && rollupDate.equals(other.rollupDate)
+                    && websiteId.equals(other.websiteId) && status == other.status
+                    && financialStatus == other.financialStatus && fulfillmentStatus == other.fulfillmentStatus;
+        }
+    }
+
+    public void recordCreated(Order order) {
+        Contribution bucket = Contribution.of(order);
+        increment(bucket, 1, bucket.orderTotal());
+    }
+
+    // Bulk imports: one increment per bucket instead of one per order
+    public void recordCreated(Collection<Order> orders) {
+        Map<Contribution, BigDecimal> totals = new TreeMap<>(BUCKET_ORDER);
+        Map<Contribution, Long> counts = new TreeMap<>(BUCKET_ORDER);
+        for (Order order : orders) {
+            Contribution contribution = Contribution.of(order);
+            Contribution bucket = new Contribution(contribution.orgId(), contribution.rollupDate(),
+                    contribution.websiteId(), contribution.status(), contribution.financialStatus(),
+                    contribution.fulfillmentStatus(), BigDecimal.ZERO);
+            totals.merge(bucket, contribution.orderTotal(), BigDecimal::add);
+            counts.merge(bucket, 1L, Long::sum);
+        }
+        totals.forEach((bucket, total) -> increment(bucket, counts.get(bucket), total));
+    }
+
+    public void recordChanged(Contribution before, Order order) {
+        Contribution after = Contribution.of(order);
+        if (before.sameBucket(after)) {
+            if (before.orderTotal().compareTo(after.orderTotal()) != 0) {
+                increment(after, 0, after.orderTotal().subtract(before.orderTotal()));
+            }
+            return;
+        }
+        if (BUCKET_ORDER.compare(before, after) < 0) {
+            increment(before, -1, before.orderTotal().negate());
+            increment(after, 1, after.orderTotal());
+        } else {
+            increment(after, 1, after.orderTotal());
+            increment(before, -1, before.orderTotal().negate());
+        }
+    }
+
+    public void recordDeleted(Contribution before) {
+        increment(before, -1, before.orderTotal().negate());
+    }
+
+    private void increment(Contribution bucket, long countDelta, BigDecimal totalDelta) {
+        rollupRepository.increment(bucket.orgId(), bucket.rollupDate(), bucket.websiteId(),
+                bucket.status().name(), bucket.financialStatus().name(), bucket.fulfillmentStatus().name(),
+                countDelta, totalDelta);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderSummaryResponse summarize(String orgId, String websiteId, LocalDate from, LocalDate to,
+            String groupBy, OrderStatus status, FinancialStatus financialStatus,
+            FulfillmentOverallStatus fulfillmentStatus) {
+        if (!existenceCache.organizationExists(orgId)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + orgId);
+        }
+        String groupProperty = GROUP_BY_PROPERTIES.get(groupBy);
+        if (groupProperty == null) {
+            throw new BadRequestException("Unsupported groupBy: " + groupBy + ", expected one of "
+                    + GROUP_BY_PROPERTIES.keySet());
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<OrderDailyRollup> root = query.from(OrderDailyRollup.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("orgId"), orgId));
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("rollupDate"), from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("rollupDate"), to));
+        }
+        if (websiteId != null) {
+            predicates.add(cb.equal(root.get("websiteId"), websiteId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (financialStatus != null) {
+            predicates.add(cb.equal(root.get("financialStatus"), financialStatus));
+        }
+        if (fulfillmentStatus != null) {
+            predicates.add(cb.equal(root.get("fulfillmentStatus"), fulfillmentStatus));
+        }
+
+        Path<Object> key = root.get(groupProperty);
+        Expression<Long> count = cb.sum(root.<Long>get("orderCount"));
+        Expression<BigDecimal> total = cb.sum(root.<BigDecimal>get("orderTotal"));
+        query.select(cb.tuple(key, count, total))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(key)
+                .orderBy(cb.asc(key));
+
+        List<OrderSummaryResponse.Bucket> buckets = new ArrayList<>();
+        long totalOrders = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long orderCount = Objects.requireNonNullElse(row.get(1, Long.class), 0L);
+            BigDecimal orderTotal = Objects.requireNonNullElse(row.get(2, BigDecimal.class), BigDecimal.ZERO);
+            // Buckets whose orders all moved elsewhere are left at zero rather than deleted
+            if (orderCount == 0 && orderTotal.signum() == 0) {
+                continue;
+            }
+            buckets.add(new OrderSummaryResponse.Bucket(String.valueOf(row.get(0)), orderCount, orderTotal));
+            totalOrders += orderCount;
+            totalAmount = totalAmount.add(orderTotal);
+        }
+
+        OrderSummaryResponse response = new OrderSummaryResponse();
+        response.setOrgId(orgId);
+        response.setWebsiteId(websiteId);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setGroupBy(groupBy);
+        response.setTotalOrders(totalOrders);
+        response.setTotalAmount(totalAmount);
+        response.setBuckets(buckets);
+        return response;
+    }
+
+    // Backfill: recomputes the org's rollups from the orders table. The org's rollup
+    // rows are locked before the orders are read and are then overwritten in place, so
+    // an order written meanwhile either committed first and is read here, or applies
+    // its increment on top of the rebuilt row once the rebuild commits.
+    @Transactional
+    public int rebuild(String orgId) {
+        List<OrderDailyRollup> rollups = rollupRepository.findForUpdateByOrgId(orgId);
+        if (!existenceCache.organizationExists(orgId)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + orgId);
+        }
+        Map<OrderDailyRollup.Key, OrderDailyRollupRepository.Bucket> buckets = new HashMap<>();
+        for (OrderDailyRollupRepository.Bucket bucket : rollupRepository.aggregateOrders(orgId)) {
+            buckets.put(new OrderDailyRollup.Key(orgId, bucket.getRollupDate(), bucket.getWebsiteId(),
+                    bucket.getStatus(), bucket.getFinancialStatus(), bucket.getFulfillmentStatus()), bucket);
+        }
+        for (OrderDailyRollup rollup : rollups) {
+            OrderDailyRollupRepository.Bucket bucket = buckets.remove(new OrderDailyRollup.Key(orgId,
+                    rollup.getRollupDate(), rollup.getWebsiteId(), rollup.getStatus(), rollup.getFinancialStatus(),
+                    rollup.getFulfillmentStatus()));
+            rollup.setOrderCount(bucket != null ? bucket.getOrderCount() : 0);
+            rollup.setOrderTotal(bucket != null ? bucket.getOrderTotal() : BigDecimal.ZERO);
+        }
+        buckets.forEach((key, bucket) -> rollupRepository.increment(orgId, key.getRollupDate(), key.getWebsiteId(),
+                key.getStatus().name(), key.getFinancialStatus().name(), key.getFulfillmentStatus().name(),
+                bucket.getOrderCount(), bucket.getOrderTotal()));
+        return rollups.size() + buckets.size();
+    }
+}
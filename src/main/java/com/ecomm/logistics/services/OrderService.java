@@ -1,18 +1,30 @@
 package com.ecomm.logistics.services;
 
+import com.ecomm.logistics.cache.ExistenceCache;
+import com.ecomm.logistics.dtos.OrderItemRequest;
 import com.ecomm.logistics.dtos.OrderRequest;
 import com.ecomm.logistics.dtos.OrderResponse;
 import com.ecomm.logistics.dtos.PagedResponse;
 import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.OrderMapper;
 import com.ecomm.logistics.models.Order;
 import com.ecomm.logistics.models.Order.FinancialStatus;
 import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
 import com.ecomm.logistics.models.Order.OrderStatus;
+import com.ecomm.logistics.models.OrderItem;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.models.SearchNgram.Field;
+import com.ecomm.logistics.repositories.OrderItemRepository;
 import com.ecomm.logistics.repositories.OrderRepository;
-import com.ecomm.logistics.repositories.OrganizationRepository;
-import com.ecomm.logistics.repositories.WebsiteRepository;
+import com.ecomm.logistics.services.OrderRollupService.Contribution;
+import com.ecomm.logistics.services.SearchIndexService.Document;
+import com.ecomm.logistics.utils.IdGenerator;
+import com.ecomm.logistics.utils.Includes;
+import com.ecomm.logistics.utils.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.criteria.Predicate;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,58 +33,89 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt", "updatedAt", "ingestedAt");
+    private static final Set<String> INCLUDES = Set.of("items");
+
     private final OrderRepository orderRepository;
-    private final OrganizationRepository organizationRepository;
-    private final WebsiteRepository websiteRepository;
-    private final ModelMapper modelMapper;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private final SecureRandom random = new SecureRandom();
-
-    public OrderService(OrderRepository orderRepository, OrganizationRepository organizationRepository,
-            WebsiteRepository websiteRepository, ModelMapper modelMapper) {
-        this.orderRepository = orderRepository;
-        this.organizationRepository = organizationRepository;
-        this.websiteRepository = websiteRepository;
-        this.modelMapper = modelMapper;
-    }
+    private final OrderItemRepository orderItemRepository;
+    private final ExistenceCache existenceCache;
+    private final OrderMapper orderMapper;
+    private final IdGenerator idGenerator;
+    private final OrderRollupService rollupService;
+    private final SearchIndexService searchIndex;
+    private final OutboxService outbox;
+    private final Counter ordersCreated;
+    private final Counter ordersUpdated;
+    private final Counter ordersUnchanged;
 
-    private String generateAlphanumericId(int length, String prefix) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
-        }
-        return prefix + sb.toString().substring(prefix.length());
+    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+            ExistenceCache existenceCache, OrderMapper orderMapper, IdGenerator idGenerator,
+            OrderRollupService rollupService, SearchIndexService searchIndex, OutboxService outbox,
+            MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.existenceCache = existenceCache;
+        this.orderMapper = orderMapper;
+        this.idGenerator = idGenerator;
+        this.rollupService = rollupService;
+        this.searchIndex = searchIndex;
+        this.outbox = outbox;
+        // Redelivered webhooks show up as "updated", or as "unchanged" when they carry nothing new
+        this.ordersCreated = Counter.builder("orders.ingest").tag("result", "created").register(meterRegistry);
+        this.ordersUpdated = Counter.builder("orders.ingest").tag("result", "updated").register(meterRegistry);
+        this.ordersUnchanged = Counter.builder("orders.ingest").tag("result", "unchanged").register(meterRegistry);
     }
 
     private void validateOrgAndWebsite(String orgId, String websiteId) {
-        if (!organizationRepository.existsById(orgId)) {
+        if (!existenceCache.organizationExists(orgId)) {
             throw new ResourceNotFoundException("Organization not found with id: " + orgId);
         }
-        if (!websiteRepository.existsByOrgIdAndId(orgId, websiteId)) {
+        if (!existenceCache.websiteExists(orgId, websiteId)) {
             throw new ResourceNotFoundException(
                     "Website not found with id: " + websiteId + " for organization: " + orgId);
         }
     }
 
+    // Idempotent on (orgId, websiteId, externalOrderId): the upsert statement either
+    // inserts the order or locks the existing row, so concurrent webhooks for the
+    // same order serialize on that row instead of both inserting.
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
         validateOrgAndWebsite(request.getOrgId(), request.getWebsiteId());
 
-        return orderRepository.findByOrgIdAndWebsiteIdAndExternalOrderId(
+        Order order = newOrder(request);
+        orderRepository.upsert(order);
+        String id = orderRepository.findIdForUpdate(
                 request.getOrgId(), request.getWebsiteId(), request.getExternalOrderId())
+                .orElseThrow(() -> new IllegalStateException("Order vanished during upsert: "
+                        + request.getExternalOrderId()));
+        if (id.equals(order.getId())) {
+            ordersCreated.increment();
+            return createNewOrder(order);
+        }
+        return orderRepository.findForUpdateById(id)
                 .map(existingOrder -> updateExistingOrder(existingOrder, request))
-                .orElseGet(() -> createNewOrder(request));
+                .orElseThrow(() -> new IllegalStateException("Order vanished during upsert: "
+                        + request.getExternalOrderId()));
     }
 
-    private OrderResponse createNewOrder(OrderRequest request) {
-        Order order = modelMapper.map(request, Order.class);
-        order.setId(generateAlphanumericId(12, "ORD"));
+    private Order newOrder(OrderRequest request) {
+        Order order = orderMapper.toEntity(request);
+        order.setId(idGenerator.nextId("ORD"));
 
         if (order.getStatus() == null)
             order.setStatus(OrderStatus.CREATED);
@@ -81,45 +124,116 @@ public class OrderService {
         if (order.getFulfillmentStatus() == null)
             order.setFulfillmentStatus(FulfillmentOverallStatus.UNKNOWN);
 
-        if (order.getItems() != null) {
-            order.getItems().forEach(item -> {
-                item.setId(generateAlphanumericId(12, "ITM"));
-                item.setOrder(order);
-            });
-        }
+        LocalDateTime now = LocalDateTime.now();
+        order.setIngestedAt(now);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        return order;
+    }
 
-        Order saved = orderRepository.save(order);
-        return modelMapper.map(saved, OrderResponse.class);
+    // The order row is already written by the upsert; only the items are left
+    private OrderResponse createNewOrder(Order order) {
+        Order reference = orderRepository.getReferenceById(order.getId());
+        order.getItems().forEach(item -> {
+            item.setId(idGenerator.nextId("ITM"));
+            item.setOrder(reference);
+        });
+        order.setItems(orderItemRepository.saveAll(order.getItems()));
+
+        rollupService.recordCreated(order);
+        searchIndex.index(Document.of(order));
+        return recordChange(ChangeType.CREATED, orderMapper.toResponse(order));
     }
 
+    // A redelivery that leaves the response as it was is not a change: Hibernate
+    // writes nothing for it, and neither do the rollups, search index or outbox.
     private OrderResponse updateExistingOrder(Order existingOrder, OrderRequest request) {
-        modelMapper.map(request, existingOrder);
-        // Note: Reconciling items would be more complex; for now we update fields.
+        OrderResponse previous = orderMapper.toResponse(existingOrder);
+        Contribution before = Contribution.of(existingOrder);
+        Document searchBefore = Document.of(existingOrder);
+        orderMapper.merge(request, existingOrder);
+        if (request.getItems() != null) {
+            reconcileItems(existingOrder, request.getItems());
+        }
         Order saved = orderRepository.save(existingOrder);
-        return modelMapper.map(saved, OrderResponse.class);
+        OrderResponse response = orderMapper.toResponse(saved);
+        if (response.equals(previous)) {
+            ordersUnchanged.increment();
+            return response;
+        }
+        ordersUpdated.increment();
+        rollupService.recordChanged(before, saved);
+        searchIndex.reindex(searchBefore, Document.of(saved));
+        return recordChange(ChangeType.UPDATED, response);
+    }
+
+    // Diffs the stored items against the request by externalLineItemId: matches are
+    // updated in place, new lines added and missing ones orphan-removed. Lines without
+    // one match by sku and position, the nth such line of a sku taking the nth stored
+    // one. Hibernate flushes each kind as one JDBC batch.
+    private void reconcileItems(Order order, List<OrderItemRequest> itemRequests) {
+        Map<String, OrderItem> existing = new HashMap<>();
+        Map<String, Deque<OrderItem>> unkeyed = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            if (item.getExternalLineItemId() != null) {
+                existing.put(item.getExternalLineItemId(), item);
+            } else {
+                unkeyed.computeIfAbsent(item.getSku(), sku -> new ArrayDeque<>()).add(item);
+            }
+        }
+
+        List<OrderItem> reconciled = new ArrayList<>(itemRequests.size());
+        for (OrderItemRequest itemRequest : itemRequests) {
+            OrderItem item;
+            if (itemRequest.getExternalLineItemId() != null) {
+                item = existing.remove(itemRequest.getExternalLineItemId());
+            } else {
+                Deque<OrderItem> sameSku = unkeyed.get(itemRequest.getSku());
+                item = sameSku != null ? sameSku.poll() : null;
+            }
+            if (item != null) {
+                orderMapper.merge(itemRequest, item);
+            } else {
+                item = orderMapper.toEntity(itemRequest);
+                item.setId(idGenerator.nextId("ITM"));
+                item.setOrder(order);
+            }
+            reconciled.add(item);
+        }
+
+        // Mutate the managed collection rather than replacing it, so orphanRemoval applies.
+        // New lines are persisted up front: left to the cascade from save(order), each
+        // one would be merged, with a SELECT by id first.
+        order.getItems().retainAll(new HashSet<>(reconciled));
+        List<OrderItem> added = reconciled.stream().filter(OrderItem::isNew).toList();
+        order.getItems().addAll(orderItemRepository.saveAll(added));
     }
 
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(String orderId) {
         return orderRepository.findById(orderId)
-                .map(order -> modelMapper.map(order, OrderResponse.class))
+                .map(order -> orderMapper.toResponse(order))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<OrderResponse> listOrders(String orgId, String websiteId, 
             java.time.LocalDateTime from, java.time.LocalDateTime to,
             int page, int size, String sort,
-            OrderStatus status, FinancialStatus financialStatus, FulfillmentOverallStatus fulfillmentStatus) {
-        if (!organizationRepository.existsById(orgId)) {
+            OrderStatus status, FinancialStatus financialStatus, FulfillmentOverallStatus fulfillmentStatus,
+            String cursor, Set<String> include) {
+        if (!existenceCache.organizationExists(orgId)) {
             throw new ResourceNotFoundException("Organization not found with id: " + orgId);
         }
 
+        boolean includeItems = Includes.includes(include, "items", INCLUDES);
+
         String[] sortParts = sort.split(",");
         String property = sortParts[0];
         Sort.Direction direction = sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc")
                 ? Sort.Direction.ASC
                 : Sort.Direction.DESC;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
         Specification<Order> spec = (root, query, cb) -> {
             var predicates = new java.util.ArrayList<Predicate>();
             predicates.add(cb.equal(root.get("orgId"), orgId));
@@ -145,11 +259,16 @@ public class OrderService {
             
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+        if (cursor != null) {
+            return listOrdersByCursor(spec, property, direction, size, cursor, includeItems);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
         Page<Order> orderPage = orderRepository.findAll(spec, pageable);
 
         return PagedResponse.<OrderResponse>builder()
                 .data(orderPage.getContent().stream()
-                        .map(order -> modelMapper.map(order, OrderResponse.class))
+                        .map(order -> orderMapper.toResponse(order, includeItems))
                         .collect(Collectors.toList()))
                 .page(orderPage.getNumber())
                 .size(orderPage.getSize())
@@ -159,24 +278,64 @@ public class OrderService {
                 .build();
     }
 
+    private PagedResponse<OrderResponse> listOrdersByCursor(Specification<Order> spec, String property,
+            Sort.Direction direction, int size, String cursor, boolean includeItems) {
+        KeysetCursor.validate(property, size, CURSOR_SORT_PROPERTIES);
+        Specification<Order> pageSpec = cursor.isBlank() ? spec
+                : spec.and(KeysetCursor.decode(cursor, property, direction).after());
+        List<Order> rows = orderRepository.findBy(pageSpec,
+                query -> query.sortBy(KeysetCursor.sort(property, direction)).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        String nextCursor = null;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+            Order last = rows.get(size - 1);
+            nextCursor = KeysetCursor.of(property, direction, cursorValue(last, property), last.getId()).encode();
+        }
+
+        return PagedResponse.<OrderResponse>builder()
+                .data(rows.stream()
+                        .map(order -> orderMapper.toResponse(order, includeItems))
+                        .collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static LocalDateTime cursorValue(Order order, String property) {
+        return switch (property) {
+            case "createdAt" -> order.getCreatedAt();
+            case "updatedAt" -> order.getUpdatedAt();
+            case "ingestedAt" -> order.getIngestedAt();
+            default -> null;
+        };
+    }
+
+    @Transactional(readOnly = true)
     public PagedResponse<OrderResponse> searchOrdersByExternal(String orgId, String websiteId, String externalOrderId,
-            String externalOrderNumber, int page, int size) {
+            String externalOrderNumber, String customerEmail, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Order> orderPage;
 
         if (externalOrderId != null) {
-            orderPage = orderRepository.findByOrgIdAndExternalOrderIdContainingIgnoreCase(orgId, externalOrderId,
-                    pageable);
+            orderPage = orderRepository.findAll(orgScope(orgId)
+                    .and(searchIndex.contains(Field.ORDER_EXTERNAL_ORDER_ID, orgId, externalOrderId)), pageable);
         } else if (externalOrderNumber != null) {
-            orderPage = orderRepository.findByOrgIdAndExternalOrderNumberContainingIgnoreCase(orgId,
-                    externalOrderNumber, pageable);
+            orderPage = orderRepository.findAll(orgScope(orgId)
+                    .and(searchIndex.contains(Field.ORDER_EXTERNAL_ORDER_NUMBER, orgId, externalOrderNumber)),
+                    pageable);
+        } else if (customerEmail != null) {
+            orderPage = orderRepository.findAll(orgScope(orgId)
+                    .and(searchIndex.contains(Field.ORDER_CUSTOMER_EMAIL, orgId, customerEmail)), pageable);
         } else {
             orderPage = orderRepository.findByOrgId(orgId, pageable);
         }
 
         return PagedResponse.<OrderResponse>builder()
                 .data(orderPage.getContent().stream()
-                        .map(order -> modelMapper.map(order, OrderResponse.class))
+                        .map(order -> orderMapper.toResponse(order))
                         .collect(Collectors.toList()))
                 .page(orderPage.getNumber())
                 .size(orderPage.getSize())
@@ -186,26 +345,36 @@ public class OrderService {
                 .build();
     }
 
+    private static Specification<Order> orgScope(String orgId) {
+        return (root, query, cb) -> cb.equal(root.get("orgId"), orgId);
+    }
+
     @Transactional
     public OrderResponse updateOrder(String orderId, OrderRequest request) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
         validateOrgAndWebsite(request.getOrgId(), request.getWebsiteId());
-        modelMapper.map(request, order);
+        Contribution before = Contribution.of(order);
+        Document searchBefore = Document.of(order);
+        orderMapper.merge(request, order);
         Order saved = orderRepository.save(order);
-        return modelMapper.map(saved, OrderResponse.class);
+        rollupService.recordChanged(before, saved);
+        searchIndex.reindex(searchBefore, Document.of(saved));
+        return recordChange(ChangeType.UPDATED, orderMapper.toResponse(saved));
     }
 
     @Transactional
     public OrderResponse patchOrder(String orderId, OrderRequest request) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
         if (request.getOrgId() != null && request.getWebsiteId() != null) {
             validateOrgAndWebsite(request.getOrgId(), request.getWebsiteId());
         }
         
+        Contribution before = Contribution.of(order);
+        Document searchBefore = Document.of(order);
         // Only update non-null fields
         if (request.getStatus() != null) order.setStatus(request.getStatus());
         if (request.getFinancialStatus() != null) order.setFinancialStatus(request.getFinancialStatus());
@@ -218,14 +387,23 @@ public class OrderService {
         if (request.getOrderUpdatedAt() != null) order.setOrderUpdatedAt(request.getOrderUpdatedAt());
         
         Order saved = orderRepository.save(order);
-        return modelMapper.map(saved, OrderResponse.class);
+        rollupService.recordChanged(before, saved);
+        searchIndex.reindex(searchBefore, Document.of(saved));
+        return recordChange(ChangeType.UPDATED, orderMapper.toResponse(saved));
     }
 
     @Transactional
     public void deleteOrder(String orderId) {
-        if (!orderRepository.existsById(orderId)) {
-            throw new ResourceNotFoundException("Order not found with id: " + orderId);
-        }
-        orderRepository.deleteById(orderId);
+        Order order = orderRepository.findForUpdateById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        orderRepository.delete(order);
+        rollupService.recordDeleted(Contribution.of(order));
+        searchIndex.remove(Document.of(order));
+        outbox.record(EntityType.ORDER, ChangeType.DELETED, order.getOrgId(), order.getId(), null);
+    }
+
+    private OrderResponse recordChange(ChangeType changeType, OrderResponse response) {
+        outbox.record(EntityType.ORDER, changeType, response.getOrgId(), response.getId(), response);
+        return response;
     }
 }
@@ -1,13 +1,18 @@
 package com.ecomm.logistics.services;
 
+import com.ecomm.logistics.cache.ExistenceCache;
 import com.ecomm.logistics.dtos.OrganizationRequest;
 import com.ecomm.logistics.dtos.OrganizationResponse;
 import com.ecomm.logistics.dtos.PagedResponse;
 import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.OrganizationMapper;
 import com.ecomm.logistics.models.Organization;
 import com.ecomm.logistics.models.Organization.OrgStatus;
+import com.ecomm.logistics.models.SearchNgram.EntityType;
+import com.ecomm.logistics.models.SearchNgram.Field;
 import com.ecomm.logistics.repositories.OrganizationRepository;
-import org.modelmapper.ModelMapper;
+import com.ecomm.logistics.services.SearchIndexService.Document;
+import com.ecomm.logistics.utils.IdGenerator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,57 +22,52 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
-import java.security.SecureRandom;
 import java.util.stream.Collectors;
 
 @Service
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
-    private final ModelMapper modelMapper;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private final SecureRandom random = new SecureRandom();
+    private final ExistenceCache existenceCache;
+    private final OrganizationMapper organizationMapper;
+    private final IdGenerator idGenerator;
+    private final SearchIndexService searchIndex;
 
-    public OrganizationService(OrganizationRepository organizationRepository, ModelMapper modelMapper) {
+    public OrganizationService(OrganizationRepository organizationRepository, ExistenceCache existenceCache,
+            OrganizationMapper organizationMapper, IdGenerator idGenerator, SearchIndexService searchIndex) {
         this.organizationRepository = organizationRepository;
-        this.modelMapper = modelMapper;
-    }
-
-    private String generateAlphanumericId(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
-        }
-        return sb.toString();
+        this.existenceCache = existenceCache;
+        this.organizationMapper = organizationMapper;
+        this.idGenerator = idGenerator;
+        this.searchIndex = searchIndex;
     }
 
     @Transactional
     public OrganizationResponse createOrganization(OrganizationRequest request) {
-        Organization org = modelMapper.map(request, Organization.class);
-        org.setId(generateAlphanumericId(12));
+        Organization org = organizationMapper.toEntity(request);
+        org.setId(idGenerator.nextId());
         if (org.getStatus() == null) {
             org.setStatus(OrgStatus.ACTIVE);
         }
         Organization saved = organizationRepository.save(org);
-        return modelMapper.map(saved, OrganizationResponse.class);
+        searchIndex.index(Document.of(saved));
+        return organizationMapper.toResponse(saved);
     }
 
     public OrganizationResponse getOrganization(String id) {
         return organizationRepository.findById(id)
-                .map(org -> modelMapper.map(org, OrganizationResponse.class))
+                .map(org -> organizationMapper.toResponse(org))
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
     }
 
     public PagedResponse<OrganizationResponse> searchByExternalId(String externalId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Specification<Organization> spec = (root, query, cb) -> {
-            return cb.like(cb.lower(root.get("externalId")), "%" + externalId.toLowerCase() + "%");
-        };
+        Specification<Organization> spec = searchIndex.contains(Field.ORGANIZATION_EXTERNAL_ID, externalId);
         Page<Organization> orgPage = organizationRepository.findAll(spec, pageable);
 
         return PagedResponse.<OrganizationResponse>builder()
                 .data(orgPage.getContent().stream()
-                        .map(org -> modelMapper.map(org, OrganizationResponse.class))
+                        .map(org -> organizationMapper.toResponse(org))
                         .collect(Collectors.toList()))
                 .page(orgPage.getNumber())
                 .size(orgPage.getSize())
@@ -90,9 +90,6 @@ public class OrganizationService {
         Specification<Organization> spec = (root, query, cb) -> {
             var predicates = new java.util.ArrayList<Predicate>();
             
-            if (name != null) {
-                predicates.add(cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
-            }
             if (status != null) {
                 predicates.add(cb.equal(root.get("status"), status));
             }
@@ -105,11 +102,14 @@ public class OrganizationService {
             
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+        if (name != null) {
+            spec = spec.and(searchIndex.contains(Field.ORGANIZATION_NAME, name));
+        }
         Page<Organization> orgPage = organizationRepository.findAll(spec, pageable);
 
         return PagedResponse.<OrganizationResponse>builder()
                 .data(orgPage.getContent().stream()
-                        .map(org -> modelMapper.map(org, OrganizationResponse.class))
+                        .map(org -> organizationMapper.toResponse(org))
                         .collect(Collectors.toList()))
                 .page(orgPage.getNumber())
                 .size(orgPage.getSize())
@@ -124,9 +124,12 @@ public class OrganizationService {
         Organization org = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
 
-        modelMapper.map(request, org);
+        Document searchBefore = Document.of(org);
+        organizationMapper.merge(request, org);
         Organization saved = organizationRepository.save(org);
-        return modelMapper.map(saved, OrganizationResponse.class);
+        searchIndex.reindex(searchBefore, Document.of(saved));
+        existenceCache.evictOrganization(id);
+        return organizationMapper.toResponse(saved);
     }
 
     @Transactional
@@ -134,9 +137,12 @@ public class OrganizationService {
         Organization org = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
 
-        modelMapper.map(request, org);
+        Document searchBefore = Document.of(org);
+        organizationMapper.merge(request, org);
         Organization saved = organizationRepository.save(org);
-        return modelMapper.map(saved, OrganizationResponse.class);
+        searchIndex.reindex(searchBefore, Document.of(saved));
+        existenceCache.evictOrganization(id);
+        return organizationMapper.toResponse(saved);
     }
 
     @Transactional
@@ -145,5 +151,7 @@ public class OrganizationService {
             throw new ResourceNotFoundException("Organization not found with id: " + id);
         }
         organizationRepository.deleteById(id);
+        searchIndex.remove(EntityType.ORGANIZATION, id);
+        existenceCache.evictOrganization(id);
     }
 }
@@ -0,0 +1,116 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Change events for downstream consumers. Each one is a row of outbox_events written
+// through the caller's transaction, so an event exists exactly when its change
+// committed. The payload is the entity's API response after the change (null for a
+// delete). Once the transaction commits the relay is nudged to pick the rows up.
+//
+// The relay takes an id still missing after gap-timeout for rolled back, so a row
+// must not commit later than that after its insert. Pending entity writes are
+// flushed first, leaving the outbox insert as the transaction's last lock wait, and
+// a transaction that still runs past write-timeout from its first outbox insert is
+// rolled back at commit instead of landing behind the consumers.
+@Service
+public class OutboxService {
+
+    private static final String INSERT_EVENT = "INSERT INTO outbox_events (org_id, entity_type, entity_id,"
+            + " change_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeEventRelay relay;
+    private final EntityManager entityManager;
+    private final ObjectWriter payloadWriter;
+    private final long writeTimeoutNanos;
+
+    public OutboxService(JdbcTemplate jdbcTemplate, ChangeEventRelay relay, EntityManager entityManager,
+            JsonMapper jsonMapper, @Value("${logistics.outbox.write-timeout:5s}") Duration writeTimeout) {
+        if (writeTimeout.compareTo(relay.getGapTimeout()) >= 0) {
+            throw new IllegalStateException("logistics.outbox.write-timeout (" + writeTimeout
+                    + ") must be shorter than logistics.outbox.relay.gap-timeout (" + relay.getGapTimeout() + ")");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.relay = relay;
+        this.entityManager = entityManager;
+        this.payloadWriter = jsonMapper.writer();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+    }
+
+    public record Change(String orgId, String entityId, Object payload) {
+    }
+
+    public void record(EntityType entityType, ChangeType changeType, String orgId, String entityId,
+            Object payload) {
+        recordAll(entityType, changeType, List.of(new Change(orgId, entityId, payload)));
+    }
+
+    // One JDBC batch for the lot, for bulk imports
+    public void recordAll(EntityType entityType, ChangeType changeType, Collection<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            String payload = change.payload() != null ? payloadWriter.writeValueAsString(change.payload()) : null;
+            rows.add(new Object[] { change.orgId(), entityType.name(), change.entityId(), changeType.name(),
+                    payload, now });
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+            guardCommit();
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+        relay.signalAfterCommit();
+    }
+
+    // Once per transaction, timed from its first outbox insert. Synchronizations are
+    // suspended along with their transaction, so a nested REQUIRES_NEW gets its own.
+    private void guardCommit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof CommitGuard) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new CommitGuard(System.nanoTime()));
+    }
+
+    // Whatever was written after the outbox rows is flushed before the check, so the
+    // commit that follows has no lock left to wait on
+    private final class CommitGuard implements TransactionSynchronization {
+
+        private final long insertedAt;
+
+        private CommitGuard(long insertedAt) {
+            this.insertedAt = insertedAt;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            long elapsed = System.nanoTime() - insertedAt;
+            if (elapsed > writeTimeoutNanos) {
+                throw new TransactionTimedOutException("Outbox write held for "
+                        + Duration.ofNanos(elapsed).toMillis() + "ms, past the "
+                        + Duration.ofNanos(writeTimeoutNanos).toMillis() + "ms write timeout");
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.Organization;
+import com.ecomm.logistics.models.SearchNgram;
+import com.ecomm.logistics.models.SearchNgram.EntityType;
+import com.ecomm.logistics.models.SearchNgram.Field;
+import com.ecomm.logistics.utils.Trigrams;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+// Trigram index behind the %term% searches on orders and organizations. Writes go
+// through the caller's transaction, so the postings commit or roll back with the
+// row. A search narrows to the ids holding every trigram of the term and re-checks
+// the LIKE on those only; terms shorter than a trigram fall back to the plain LIKE.
+@Service
+public class SearchIndexService {
+
+    private static final String ORGANIZATION_SCOPE = "";
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchIndexService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The searchable values of one row
+    public record Document(EntityType entityType, String entityId, String scopeId, Map<Field, String> values) {
+
+        public static Document of(Order order) {
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.ORDER_EXTERNAL_ORDER_ID, order.getExternalOrderId());
+            values.put(Field.ORDER_EXTERNAL_ORDER_NUMBER, order.getExternalOrderNumber());
+            values.put(Field.ORDER_CUSTOMER_EMAIL, order.getCustomerEmail());
+            return new Document(EntityType.ORDER, order.getId(), order.getOrgId(), values);
+        }
+
+        public static Document of(Organization organization) {
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            values.put(Field.ORGANIZATION_NAME, organization.getName());
+            values.put(Field.ORGANIZATION_EXTERNAL_ID, organization.getExternalId());
+            return new Document(EntityType.ORGANIZATION, organization.getId(), ORGANIZATION_SCOPE, values);
+        }
+    }
+
+    public void index(Document document) {
+        indexAll(List.of(document));
+    }
+
+    // One JDBC batch for all the postings, for bulk imports
+    public void indexAll(Collection<Document> documents) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Document document : documents) {
+            document.values().forEach((field, value) -> {
+                for (long gram : Trigrams.of(value)) {
+                    rows.add(new Object[] { field.name(), document.scopeId(), gram, document.entityId(),
+                            document.entityType().name() });
+                }
+            });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO search_ngrams (field_name, scope_id, gram, entity_id, entity_type)"
+                    + " VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    // Untouched search fields leave the postings alone
+    public void reindex(Document before, Document after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        remove(before);
+        index(after);
+    }
+
+    public void remove(Document document) {
+        remove(document.entityType(), document.entityId());
+    }
+
+    public void remove(EntityType entityType, String entityId) {
+        jdbcTemplate.update("DELETE FROM search_ngrams WHERE entity_type = ? AND entity_id = ?",
+                entityType.name(), entityId);
+    }
+
+    public <T> Specification<T> contains(Field field, String term) {
+        return contains(field, ORGANIZATION_SCOPE, term);
+    }
+
+    public <T> Specification<T> contains(Field field, String scopeId, String term) {
+        String pattern = "%" + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+        List<Long> grams = new ArrayList<>();
+        for (long gram : Trigrams.of(term)) {
+            grams.add(gram);
+        }
+        return (root, query, cb) -> {
+            Predicate like = cb.like(cb.lower(root.get(field.getAttribute())), pattern, LIKE_ESCAPE);
+            if (grams.isEmpty()) {
+                return like;
+            }
+            Subquery<String> matches = query.subquery(String.class);
+            Root<SearchNgram> ngram = matches.from(SearchNgram.class);
+            matches.select(ngram.get("entityId"))
+                    .where(cb.equal(ngram.get("field"), field),
+                            cb.equal(ngram.get("scopeId"), scopeId),
+                            ngram.get("gram").in(grams))
+                    .groupBy(ngram.get("entityId"))
+                    .having(cb.equal(cb.count(ngram.get("gram")), (long) grams.size()));
+            return cb.and(root.get("id").in(matches), like);
+        };
+    }
+
+    // The term matches literally, as it did in the derived ContainingIgnoreCase queries
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,102 +1,228 @@
 package com.ecomm.logistics.services;
 
+import com.ecomm.logistics.cache.TrackingNumberIndex;
+import com.ecomm.logistics.dtos.TrackingEventBatchResponse;
+import com.ecomm.logistics.dtos.TrackingEventBatchResponse.ResultStatus;
 import com.ecomm.logistics.dtos.TrackingEventRequest;
 import com.ecomm.logistics.dtos.TrackingEventResponse;
+import com.ecomm.logistics.exceptions.BadRequestException;
 import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.TrackingEventMapper;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
 import com.ecomm.logistics.models.Tracking;
-import com.ecomm.logistics.models.Tracking.TrackingStatus;
 import com.ecomm.logistics.models.TrackingEvent;
 import com.ecomm.logistics.repositories.TrackingEventRepository;
 import com.ecomm.logistics.repositories.TrackingRepository;
-import org.modelmapper.ModelMapper;
+import com.ecomm.logistics.services.OutboxService.Change;
+import com.ecomm.logistics.utils.EventKeys;
+import com.ecomm.logistics.utils.IdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.HexFormat;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TrackingEventService {
 
     private final TrackingEventRepository eventRepository;
     private final TrackingRepository trackingRepository;
-    private final ModelMapper modelMapper;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private final SecureRandom random = new SecureRandom();
+    private final TrackingEventMapper eventMapper;
+    private final IdGenerator idGenerator;
+    private final TrackingRollupService rollupService;
+    private final TrackingRollupPipeline rollupPipeline;
+    private final TrackingNumberIndex trackingNumberIndex;
+    private final OutboxService outbox;
+    private final int maxBatchSize;
+    private final Counter eventsCreated;
+    private final Counter eventsDuplicate;
 
     public TrackingEventService(TrackingEventRepository eventRepository,
             TrackingRepository trackingRepository,
-            ModelMapper modelMapper) {
+            TrackingEventMapper eventMapper, IdGenerator idGenerator,
+            TrackingRollupService rollupService, TrackingRollupPipeline rollupPipeline,
+            TrackingNumberIndex trackingNumberIndex, OutboxService outbox, MeterRegistry meterRegistry,
+            @Value("${logistics.tracking.events.max-batch-size:1000}") int maxBatchSize) {
         this.eventRepository = eventRepository;
         this.trackingRepository = trackingRepository;
-        this.modelMapper = modelMapper;
-    }
-
-    private String generateAlphanumericId(int length, String prefix) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
-        }
-        return prefix + sb.toString().substring(prefix.length());
-    }
-
-    private String calculateHash(String base) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(base.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not available", e);
-        }
+        this.eventMapper = eventMapper;
+        this.idGenerator = idGenerator;
+        this.rollupService = rollupService;
+        this.rollupPipeline = rollupPipeline;
+        this.trackingNumberIndex = trackingNumberIndex;
+        this.outbox = outbox;
+        this.maxBatchSize = maxBatchSize;
+        this.eventsCreated = Counter.builder("tracking.events.ingest").tag("result", "created")
+                .register(meterRegistry);
+        this.eventsDuplicate = Counter.builder("tracking.events.ingest").tag("result", "duplicate")
+                .register(meterRegistry);
     }
 
     @Transactional
     public TrackingEventResponse ingestEvent(String orgId, String trackingId, TrackingEventRequest request) {
         Tracking tracking = trackingRepository.findByOrgIdAndId(orgId, trackingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tracking not found with id: " + trackingId));
+        return ingest(tracking, request);
+    }
+
+    // Carrier webhooks only know the tracking number
+    @Transactional
+    public TrackingEventResponse ingestEventByTrackingNumber(String orgId, String trackingNumber,
+            TrackingEventRequest request) {
+        return ingest(findByTrackingNumber(orgId, trackingNumber), request);
+    }
 
-        // Generate hash for idempotency: orgId + trackingId + eventTime + eventCode
-        String base = orgId + trackingId + request.getEventTime().toString() + request.getEventCode();
-        String hash = calculateHash(base);
+    private TrackingEventResponse ingest(Tracking tracking, TrackingEventRequest request) {
+        String orgId = tracking.getOrgId();
+        byte[] key = eventKey(orgId, tracking.getId(), request);
 
-        return eventRepository.findByOrgIdAndEventHash(orgId, hash)
-                .map(existing -> modelMapper.map(existing, TrackingEventResponse.class))
+        return eventRepository.findByOrgIdAndEventKey(orgId, key)
+                .map(existing -> {
+                    eventsDuplicate.increment();
+                    return eventMapper.toResponse(existing);
+                })
                 .orElseGet(() -> {
-                    TrackingEvent event = modelMapper.map(request, TrackingEvent.class);
-                    event.setId(generateAlphanumericId(12, "EVT"));
-                    event.setOrgId(orgId);
-                    event.setTracking(tracking);
-                    event.setEventHash(hash);
-
+                    eventsCreated.increment();
+                    TrackingEvent event = newEvent(orgId, tracking, request, key);
                     TrackingEvent saved = eventRepository.save(event);
                     updateTrackingRollup(tracking, event);
-                    return modelMapper.map(saved, TrackingEventResponse.class);
+                    TrackingEventResponse response = eventMapper.toResponse(saved);
+                    outbox.record(EntityType.TRACKING_EVENT, ChangeType.CREATED, orgId, saved.getId(), response);
+                    return response;
                 });
     }
 
-    private void updateTrackingRollup(Tracking tracking, TrackingEvent event) {
-        // Update lastEventAt if new event is later
-        if (tracking.getLastEventAt() == null || event.getEventTime().isAfter(tracking.getLastEventAt())) {
-            tracking.setLastEventAt(event.getEventTime());
-
-            // Heuristic status update based on event code (simulated)
-            String code = event.getEventCode().toUpperCase();
-            if (code.contains("DELIVERED")) {
-                tracking.setStatus(TrackingStatus.DELIVERED);
-            } else if (code.contains("OUT") || code.contains("DELIVERY")) {
-                tracking.setStatus(TrackingStatus.OUT_FOR_DELIVERY);
-            } else if (code.contains("TRANSIT") || code.contains("SHIPPED")) {
-                tracking.setStatus(TrackingStatus.IN_TRANSIT);
-            } else if (code.contains("EXCEPTION") || code.contains("FAIL")) {
-                tracking.setStatus(TrackingStatus.EXCEPTION);
-            } else if (code.contains("LABEL") || code.contains("PICKUP")) {
-                tracking.setStatus(TrackingStatus.LABEL_CREATED);
+    // Dedups the whole batch with one IN query, batches the inserts through saveAll
+    // and applies the rollup once with the latest new event.
+    @Transactional
+    public List<TrackingEventBatchResponse> ingestEvents(String orgId, String trackingId,
+            List<TrackingEventRequest> requests) {
+        checkBatchSize(requests);
+        Tracking tracking = trackingRepository.findByOrgIdAndId(orgId, trackingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tracking not found with id: " + trackingId));
+        return ingest(tracking, requests);
+    }
+
+    @Transactional
+    public List<TrackingEventBatchResponse> ingestEventsByTrackingNumber(String orgId, String trackingNumber,
+            List<TrackingEventRequest> requests) {
+        checkBatchSize(requests);
+        return ingest(findByTrackingNumber(orgId, trackingNumber), requests);
+    }
+
+    private List<TrackingEventBatchResponse> ingest(Tracking tracking, List<TrackingEventRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        String orgId = tracking.getOrgId();
+        String trackingId = tracking.getId();
+
+        List<byte[]> keys = new ArrayList<>(requests.size());
+        for (TrackingEventRequest request : requests) {
+            keys.add(eventKey(orgId, trackingId, request));
+        }
+
+        // byte[] has identity equality, so the maps key on a ByteBuffer view of it
+        Map<ByteBuffer, TrackingEvent> existing = eventRepository.findByOrgIdAndEventKeyIn(orgId, keys).stream()
+                .collect(Collectors.toMap(event -> ByteBuffer.wrap(event.getEventKey()), Function.identity()));
+
+        // Same key twice within the batch is only inserted once
+        Map<ByteBuffer, TrackingEvent> pending = new LinkedHashMap<>();
+        TrackingEvent latest = null;
+        for (int i = 0; i < requests.size(); i++) {
+            ByteBuffer key = ByteBuffer.wrap(keys.get(i));
+            if (existing.containsKey(key) || pending.containsKey(key)) {
+                continue;
+            }
+            TrackingEvent event = newEvent(orgId, tracking, requests.get(i), keys.get(i));
+            pending.put(key, event);
+            if (latest == null || event.getEventTime().isAfter(latest.getEventTime())) {
+                latest = event;
+            }
+        }
+
+        Map<ByteBuffer, TrackingEvent> saved = eventRepository.saveAll(pending.values()).stream()
+                .collect(Collectors.toMap(event -> ByteBuffer.wrap(event.getEventKey()), Function.identity()));
+        if (latest != null) {
+            updateTrackingRollup(tracking, latest);
+        }
+        eventsCreated.increment(saved.size());
+        eventsDuplicate.increment(requests.size() - saved.size());
+
+        List<TrackingEventBatchResponse> results = new ArrayList<>(requests.size());
+        List<Change> changes = new ArrayList<>(saved.size());
+        Set<ByteBuffer> reported = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ByteBuffer key = ByteBuffer.wrap(keys.get(i));
+            TrackingEvent created = saved.get(key);
+            boolean isNew = created != null && reported.add(key);
+            TrackingEvent event = created != null ? created : existing.get(key);
+            TrackingEventResponse response = eventMapper.toResponse(event);
+            if (isNew) {
+                changes.add(new Change(orgId, event.getId(), response));
             }
+            results.add(new TrackingEventBatchResponse(i,
+                    isNew ? ResultStatus.CREATED : ResultStatus.DUPLICATE, response));
+        }
+        outbox.recordAll(EntityType.TRACKING_EVENT, ChangeType.CREATED, changes);
+        return results;
+    }
 
-            trackingRepository.save(tracking);
+    private void checkBatchSize(List<TrackingEventRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("Batch exceeds the maximum of " + maxBatchSize + " events");
+        }
+    }
+
+    // A cached id can outlive its row when the tracking goes away with its fulfillment;
+    // dropping it and resolving once more covers that
+    private Tracking findByTrackingNumber(String orgId, String trackingNumber) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            String trackingId = trackingNumberIndex.resolve(orgId, trackingNumber);
+            if (trackingId == null) {
+                break;
+            }
+            Optional<Tracking> tracking = trackingRepository.findByOrgIdAndId(orgId, trackingId);
+            if (tracking.isPresent()) {
+                return tracking.get();
+            }
+            trackingNumberIndex.discard(orgId, trackingNumber, trackingId);
+        }
+        throw new ResourceNotFoundException("Tracking not found with number: " + trackingNumber);
+    }
+
+    // Key for idempotency: orgId + trackingId + eventTime + eventCode
+    private byte[] eventKey(String orgId, String trackingId, TrackingEventRequest request) {
+        return EventKeys.of(orgId, trackingId, request.getEventTime(), request.getEventCode());
+    }
+
+    private TrackingEvent newEvent(String orgId, Tracking tracking, TrackingEventRequest request, byte[] key) {
+        TrackingEvent event = eventMapper.toEntity(request);
+        event.setId(idGenerator.nextId("EVT"));
+        event.setOrgId(orgId);
+        event.setTracking(tracking);
+        event.setEventKey(key);
+        event.setRollupPending(rollupPipeline.isEnabled());
+        return event;
+    }
+
+    private void updateTrackingRollup(Tracking tracking, TrackingEvent event) {
+        if (rollupPipeline.isEnabled()) {
+            rollupPipeline.submitAfterCommit(tracking.getId());
+        } else {
+            rollupService.applyRollup(tracking, event);
         }
     }
 }
@@ -0,0 +1,145 @@
+package com.ecomm.logistics.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Async mode for tracking rollups. The request thread only appends the event (flagged
+// rollup_pending) and returns; after commit the trackingId is handed to one of N
+// single-threaded partitions chosen by its hash, so a parcel's rollups never race.
+// A trackingId already waiting in its partition is not queued again, which turns a
+// burst of scans into a single Tracking update.
+@Component
+public class TrackingRollupPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackingRollupPipeline.class);
+
+    private final TrackingRollupService rollupService;
+    private final boolean enabled;
+    private final Partition[] partitions;
+    private final Timer lag;
+    private final Counter coalesced;
+
+    public TrackingRollupPipeline(TrackingRollupService rollupService, MeterRegistry meterRegistry,
+            @Value("${logistics.tracking.async.enabled:false}") boolean enabled,
+            @Value("${logistics.tracking.async.partitions:4}") int partitionCount) {
+        this.rollupService = rollupService;
+        this.enabled = enabled;
+        this.partitions = new Partition[enabled ? partitionCount : 0];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i);
+            Gauge.builder("tracking.rollup.queue.depth", partitions[i].pending, Map::size)
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.lag = Timer.builder("tracking.rollup.lag")
+                .description("Time from an event being appended to its rollup starting")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("tracking.rollup.coalesced")
+                .description("Events folded into a rollup that was already queued")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Queued only once the appending transaction commits, so the worker sees the event
+    public void submitAfterCommit(String trackingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(trackingId);
+                }
+            });
+        } else {
+            submit(trackingId);
+        }
+    }
+
+    public void submit(String trackingId) {
+        Partition partition = partitions[Math.floorMod(trackingId.hashCode(), partitions.length)];
+        if (partition.pending.putIfAbsent(trackingId, System.nanoTime()) != null) {
+            coalesced.increment();
+            return;
+        }
+        try {
+            partition.executor.execute(() -> process(partition, trackingId));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the events stay flagged for recovery on the next start
+            partition.pending.remove(trackingId);
+        }
+    }
+
+    private void process(Partition partition, String trackingId) {
+        // Removed before the rollup runs, so an event landing mid-run queues another pass
+        Long enqueuedAt = partition.pending.remove(trackingId);
+        if (enqueuedAt != null) {
+            lag.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        try {
+            rollupService.applyPendingRollup(trackingId);
+        } catch (RuntimeException e) {
+            // Events stay flagged and are picked up again by the next event or restart
+            log.error("Tracking rollup failed for {}", trackingId, e);
+        }
+    }
+
+    // Events appended before a crash or shutdown are still flagged in the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingRollups() {
+        List<String> trackingIds = rollupService.findTrackingIdsWithPendingRollup();
+        for (String trackingId : trackingIds) {
+            if (enabled) {
+                submit(trackingId);
+            } else {
+                rollupService.applyPendingRollup(trackingId);
+            }
+        }
+        if (!trackingIds.isEmpty()) {
+            log.info("Recovered pending rollups for {} tracking records", trackingIds.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Partition partition : partitions) {
+            partition.executor.shutdown();
+        }
+        for (Partition partition : partitions) {
+            partition.executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class Partition {
+        private final Map<String, Long> pending = new ConcurrentHashMap<>();
+        private final ExecutorService executor;
+
+        private Partition(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tracking-rollup-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.mappers.TrackingMapper;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.models.Tracking;
+import com.ecomm.logistics.models.Tracking.TrackingStatus;
+import com.ecomm.logistics.models.TrackingEvent;
+import com.ecomm.logistics.repositories.TrackingEventRepository;
+import com.ecomm.logistics.repositories.TrackingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Folds tracking events into the Tracking row's lastEventAt and status. Called inline
+// on ingest, or from the async rollup pipeline once per burst of events. Either way a
+// rollup that moves the row is a tracking update for change event consumers.
+@Service
+public class TrackingRollupService {
+
+    private final TrackingRepository trackingRepository;
+    private final TrackingEventRepository eventRepository;
+    private final TrackingStatusClassifier statusClassifier;
+    private final TrackingMapper trackingMapper;
+    private final OutboxService outbox;
+    private final EntityManager entityManager;
+
+    public TrackingRollupService(TrackingRepository trackingRepository, TrackingEventRepository eventRepository,
+            TrackingStatusClassifier statusClassifier, TrackingMapper trackingMapper, OutboxService outbox,
+            EntityManager entityManager) {
+        this.trackingRepository = trackingRepository;
+        this.eventRepository = eventRepository;
+        this.statusClassifier = statusClassifier;
+        this.trackingMapper = trackingMapper;
+        this.outbox = outbox;
+        this.entityManager = entityManager;
+    }
+
+    // Applies whatever arrived since the last run: only the latest event can move
+    // the rollup, so one read and one update cover any number of pending events.
+    @Transactional
+    public void applyPendingRollup(String trackingId) {
+        Tracking tracking = trackingRepository.findForUpdateById(trackingId).orElse(null);
+        if (tracking == null) {
+            return;
+        }
+        eventRepository.findFirstByTrackingIdOrderByEventTimeDesc(trackingId).ifPresent(latest -> {
+            applyRollup(tracking, latest);
+            eventRepository.clearRollupPending(trackingId, latest.getEventTime());
+        });
+    }
+
+    public List<String> findTrackingIdsWithPendingRollup() {
+        return eventRepository.findTrackingIdsWithPendingRollup();
+    }
+
+    public void applyRollup(Tracking tracking, TrackingEvent event) {
+        // An inline ingest read the row without a lock; re-read it under one, so a
+        // concurrent rollup or API update is seen rather than overwritten
+        if (entityManager.getLockMode(tracking) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(tracking, LockModeType.PESSIMISTIC_WRITE);
+        }
+        // Update lastEventAt if new event is later
+        if (tracking.getLastEventAt() == null || event.getEventTime().isAfter(tracking.getLastEventAt())) {
+            tracking.setLastEventAt(event.getEventTime());
+
+            TrackingStatus status = statusClassifier.classify(tracking.getCarrier(), event.getSource(),
+                    event.getEventCode());
+            if (status != TrackingStatus.UNKNOWN) {
+                tracking.setStatus(status);
+            }
+
+            Tracking saved = trackingRepository.save(tracking);
+            // Without events, which reach consumers as TRACKING_EVENT changes of their own
+            outbox.record(EntityType.TRACKING, ChangeType.UPDATED, saved.getOrgId(), saved.getId(),
+                    trackingMapper.toResponse(saved, false));
+        }
+    }
+}
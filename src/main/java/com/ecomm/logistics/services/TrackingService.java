@@ -1,14 +1,20 @@
 package com.ecomm.logistics.services;
 
+import com.ecomm.logistics.cache.TrackingNumberIndex;
 import com.ecomm.logistics.dtos.PagedResponse;
 import com.ecomm.logistics.dtos.TrackingRequest;
 import com.ecomm.logistics.dtos.TrackingResponse;
 import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.TrackingMapper;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
 import com.ecomm.logistics.models.Tracking;
 import com.ecomm.logistics.models.Tracking.TrackingStatus;
 import com.ecomm.logistics.repositories.FulfillmentRepository;
 import com.ecomm.logistics.repositories.TrackingRepository;
-import org.modelmapper.ModelMapper;
+import com.ecomm.logistics.utils.IdGenerator;
+import com.ecomm.logistics.utils.Includes;
+import com.ecomm.logistics.utils.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,32 +24,35 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
-import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class TrackingService {
 
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt", "updatedAt");
+    private static final Set<String> INCLUDES = Set.of("events");
+
     private final TrackingRepository trackingRepository;
     private final FulfillmentRepository fulfillmentRepository;
-    private final ModelMapper modelMapper;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private final SecureRandom random = new SecureRandom();
+    private final TrackingMapper trackingMapper;
+    private final IdGenerator idGenerator;
+    private final TrackingNumberIndex trackingNumberIndex;
+    private final OutboxService outbox;
 
     public TrackingService(TrackingRepository trackingRepository,
             FulfillmentRepository fulfillmentRepository,
-            ModelMapper modelMapper) {
+            TrackingMapper trackingMapper, IdGenerator idGenerator,
+            TrackingNumberIndex trackingNumberIndex, OutboxService outbox) {
         this.trackingRepository = trackingRepository;
         this.fulfillmentRepository = fulfillmentRepository;
-        this.modelMapper = modelMapper;
-    }
-
-    private String generateAlphanumericId(int length, String prefix) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
-        }
-        return prefix + sb.toString().substring(prefix.length());
+        this.trackingMapper = trackingMapper;
+        this.idGenerator = idGenerator;
+        this.trackingNumberIndex = trackingNumberIndex;
+        this.outbox = outbox;
     }
 
     @Transactional
@@ -54,20 +63,23 @@ public class TrackingService {
         // Upsert by tracking number within the fulfillment
         return trackingRepository.findByFulfillmentIdAndTrackingNumber(fulfillmentId, request.getTrackingNumber())
                 .map(existing -> {
-                    modelMapper.map(request, existing);
-                    return mapToResponse(trackingRepository.save(existing));
+                    trackingMapper.merge(request, existing);
+                    return recordChange(ChangeType.UPDATED, mapToResponse(trackingRepository.save(existing)));
                 })
                 .orElseGet(() -> {
-                    Tracking tracking = modelMapper.map(request, Tracking.class);
-                    tracking.setId(generateAlphanumericId(12, "TRK"));
+                    Tracking tracking = trackingMapper.toEntity(request);
+                    tracking.setId(idGenerator.nextId("TRK"));
                     tracking.setOrgId(fulfillment.getOrgId());
                     tracking.setFulfillmentId(fulfillmentId);
                     if (tracking.getStatus() == null)
                         tracking.setStatus(TrackingStatus.UNKNOWN);
-                    return mapToResponse(trackingRepository.save(tracking));
+                    // A reused number now resolves to this tracking
+                    trackingNumberIndex.evict(tracking.getOrgId(), tracking.getTrackingNumber());
+                    return recordChange(ChangeType.CREATED, mapToResponse(trackingRepository.save(tracking)));
                 });
     }
 
+    @Transactional(readOnly = true)
     public TrackingResponse getTrackingById(String fulfillmentId, String trackingId) {
         Tracking tracking = trackingRepository.findById(trackingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tracking not found with id: " + trackingId));
@@ -79,17 +91,20 @@ public class TrackingService {
         return mapToResponse(tracking);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<TrackingResponse> listTracking(String fulfillmentId,
             java.time.LocalDateTime from, java.time.LocalDateTime to,
             int page, int size, String sort,
-            TrackingStatus status, String carrier, String trackingNumber) {
+            TrackingStatus status, String carrier, String trackingNumber,
+            String cursor, Set<String> include) {
+        boolean includeEvents = Includes.includes(include, "events", INCLUDES);
+
         String[] sortParts = sort.split(",");
         String property = sortParts[0];
         Sort.Direction direction = sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc")
                 ? Sort.Direction.ASC
                 : Sort.Direction.DESC;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
         Specification<Tracking> spec = (root, query, cb) -> {
             var predicates = new java.util.ArrayList<Predicate>();
             predicates.add(cb.equal(root.get("fulfillmentId"), fulfillmentId));
@@ -112,11 +127,16 @@ public class TrackingService {
             
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+        if (cursor != null) {
+            return listTrackingByCursor(spec, property, direction, size, cursor, includeEvents);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, property));
         Page<Tracking> trackingPage = trackingRepository.findAll(spec, pageable);
 
         return PagedResponse.<TrackingResponse>builder()
                 .data(trackingPage.getContent().stream()
-                        .map(this::mapToResponse)
+                        .map(tracking -> trackingMapper.toResponse(tracking, includeEvents))
                         .collect(Collectors.toList()))
                 .page(trackingPage.getNumber())
                 .size(trackingPage.getSize())
@@ -126,6 +146,40 @@ public class TrackingService {
                 .build();
     }
 
+    private PagedResponse<TrackingResponse> listTrackingByCursor(Specification<Tracking> spec, String property,
+            Sort.Direction direction, int size, String cursor, boolean includeEvents) {
+        KeysetCursor.validate(property, size, CURSOR_SORT_PROPERTIES);
+        Specification<Tracking> pageSpec = cursor.isBlank() ? spec
+                : spec.and(KeysetCursor.decode(cursor, property, direction).after());
+        List<Tracking> rows = trackingRepository.findBy(pageSpec,
+                query -> query.sortBy(KeysetCursor.sort(property, direction)).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        String nextCursor = null;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+            Tracking last = rows.get(size - 1);
+            nextCursor = KeysetCursor.of(property, direction, cursorValue(last, property), last.getId()).encode();
+        }
+
+        return PagedResponse.<TrackingResponse>builder()
+                .data(rows.stream()
+                        .map(tracking -> trackingMapper.toResponse(tracking, includeEvents))
+                        .collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static LocalDateTime cursorValue(Tracking tracking, String property) {
+        return switch (property) {
+            case "createdAt" -> tracking.getCreatedAt();
+            case "updatedAt" -> tracking.getUpdatedAt();
+            default -> null;
+        };
+    }
+
     public PagedResponse<TrackingResponse> searchTrackingByNumber(String fulfillmentId, String trackingNumber,
             String carrier, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
@@ -154,20 +208,25 @@ public class TrackingService {
 
     @Transactional
     public TrackingResponse updateTracking(String fulfillmentId, String trackingId, TrackingRequest request) {
-        Tracking tracking = trackingRepository.findById(trackingId)
+        Tracking tracking = trackingRepository.findForUpdateById(trackingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tracking not found with id: " + trackingId));
 
         if (!tracking.getFulfillmentId().equals(fulfillmentId)) {
             throw new ResourceNotFoundException("Tracking not found in this fulfillment");
         }
 
-        modelMapper.map(request, tracking);
-        return mapToResponse(trackingRepository.save(tracking));
+        String previousNumber = tracking.getTrackingNumber();
+        trackingMapper.merge(request, tracking);
+        if (!Objects.equals(previousNumber, tracking.getTrackingNumber())) {
+            trackingNumberIndex.evict(tracking.getOrgId(), previousNumber);
+            trackingNumberIndex.evict(tracking.getOrgId(), tracking.getTrackingNumber());
+        }
+        return recordChange(ChangeType.UPDATED, mapToResponse(trackingRepository.save(tracking)));
     }
 
     @Transactional
     public TrackingResponse patchTracking(String fulfillmentId, String trackingId, TrackingRequest request) {
-        Tracking tracking = trackingRepository.findById(trackingId)
+        Tracking tracking = trackingRepository.findForUpdateById(trackingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tracking not found with id: " + trackingId));
 
         if (!tracking.getFulfillmentId().equals(fulfillmentId)) {
@@ -183,7 +242,7 @@ public class TrackingService {
         
         if (request.getLastEventAt() != null) tracking.setLastEventAt(request.getLastEventAt());
         
-        return mapToResponse(trackingRepository.save(tracking));
+        return recordChange(ChangeType.UPDATED, mapToResponse(trackingRepository.save(tracking)));
     }
 
     @Transactional
@@ -196,10 +255,17 @@ public class TrackingService {
         }
         
         trackingRepository.delete(tracking);
+        trackingNumberIndex.evict(tracking.getOrgId(), tracking.getTrackingNumber());
+        outbox.record(EntityType.TRACKING, ChangeType.DELETED, tracking.getOrgId(), trackingId, null);
+    }
+
+    private TrackingResponse recordChange(ChangeType changeType, TrackingResponse response) {
+        outbox.record(EntityType.TRACKING, changeType, response.getOrgId(), response.getId(), response);
+        return response;
     }
 
     private TrackingResponse mapToResponse(Tracking tracking) {
-        TrackingResponse res = modelMapper.map(tracking, TrackingResponse.class);
+        TrackingResponse res = trackingMapper.toResponse(tracking);
         // Events are mapped if present in child collection
         return res;
     }
@@ -0,0 +1,138 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.models.Tracking.TrackingStatus;
+import com.ecomm.logistics.models.TrackingEvent.EventSource;
+import com.ecomm.logistics.utils.KeywordAutomaton;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Maps carrier event codes to a TrackingStatus using keyword tables from
+// logistics.tracking.status-rules. Tables exist per carrier, per event source and a
+// default; the most specific table that matches anything decides. Within a table the
+// most severe status wins, so "DELIVERY_EXCEPTION" is an EXCEPTION rather than
+// whichever keyword happened to be checked first.
+@Component
+public class TrackingStatusClassifier {
+
+    private static final String PREFIX = "logistics.tracking.status-rules";
+    private static final TrackingStatus[] BY_RANK = {
+            TrackingStatus.UNKNOWN,
+            TrackingStatus.LABEL_CREATED,
+            TrackingStatus.IN_TRANSIT,
+            TrackingStatus.OUT_FOR_DELIVERY,
+            TrackingStatus.DELIVERED,
+            TrackingStatus.EXCEPTION
+    };
+    private static final ResolvableType TABLE = ResolvableType.forClassWithGenerics(Map.class,
+            ResolvableType.forClass(TrackingStatus.class), ResolvableType.forClassWithGenerics(List.class, String.class));
+
+    private final RuleTable defaults;
+    private final Map<String, RuleTable> carriers = new HashMap<>();
+    private final Map<EventSource, RuleTable> sources = new EnumMap<>(EventSource.class);
+
+    public TrackingStatusClassifier(Environment environment) {
+        Binder binder = Binder.get(environment);
+        this.defaults = binder.bind(PREFIX + ".default", table())
+                .map(RuleTable::new)
+                .orElse(null);
+        binder.bind(PREFIX + ".carrier", TrackingStatusClassifier.<String>tables(
+                        ResolvableType.forClass(String.class)))
+                .orElse(Map.of())
+                .forEach((carrier, table) -> carriers.put(carrierKey(carrier), new RuleTable(table)));
+        binder.bind(PREFIX + ".source", TrackingStatusClassifier.<EventSource>tables(
+                        ResolvableType.forClass(EventSource.class)))
+                .orElse(Map.of())
+                .forEach((source, table) -> sources.put(source, new RuleTable(table)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bindable<Map<TrackingStatus, List<String>>> table() {
+        return (Bindable<Map<TrackingStatus, List<String>>>) (Bindable<?>) Bindable.of(TABLE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Bindable<Map<K, Map<TrackingStatus, List<String>>>> tables(ResolvableType keyType) {
+        return (Bindable<Map<K, Map<TrackingStatus, List<String>>>>) (Bindable<?>) Bindable.of(
+                ResolvableType.forClassWithGenerics(Map.class, keyType, TABLE));
+    }
+
+    // UNKNOWN when no table recognises the code, which leaves the current status alone
+    public TrackingStatus classify(String carrier, EventSource source, String eventCode) {
+        if (eventCode == null) {
+            return TrackingStatus.UNKNOWN;
+        }
+        // Carrier names come from the client, so only the configured ones are looked up
+        // and nothing is remembered per name
+        RuleTable carrierTable = carrier != null && !carriers.isEmpty() ? carriers.get(carrierKey(carrier)) : null;
+        if (carrierTable != null) {
+            TrackingStatus status = carrierTable.classify(eventCode);
+            if (status != TrackingStatus.UNKNOWN) {
+                return status;
+            }
+        }
+        RuleTable sourceTable = source != null ? sources.get(source) : null;
+        if (sourceTable != null) {
+            TrackingStatus status = sourceTable.classify(eventCode);
+            if (status != TrackingStatus.UNKNOWN) {
+                return status;
+            }
+        }
+        return defaults != null ? defaults.classify(eventCode) : TrackingStatus.UNKNOWN;
+    }
+
+    // Carrier names arrive in whatever case and padding the client sent
+    private static String carrierKey(String carrier) {
+        return carrier.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static int rank(TrackingStatus status) {
+        for (int rank = 1; rank < BY_RANK.length; rank++) {
+            if (BY_RANK[rank] == status) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    // One compiled automaton plus a bounded cache of the codes it has seen
+    private static final class RuleTable {
+
+        private final KeywordAutomaton automaton;
+        private final Cache<String, TrackingStatus> results = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+
+        private RuleTable(Map<TrackingStatus, List<String>> keywordsByStatus) {
+            Map<String, Integer> keywordRanks = new HashMap<>();
+            keywordsByStatus.forEach((status, keywords) -> {
+                for (String keyword : keywords) {
+                    if (!keyword.isBlank()) {
+                        keywordRanks.merge(keyword.trim(), rank(status), Math::max);
+                    }
+                }
+            });
+            this.automaton = new KeywordAutomaton(keywordRanks);
+        }
+
+        private TrackingStatus classify(String eventCode) {
+            TrackingStatus cached = results.getIfPresent(eventCode);
+            if (cached != null) {
+                return cached;
+            }
+            TrackingStatus status = BY_RANK[automaton.match(eventCode)];
+            results.put(eventCode, status);
+            return status;
+        }
+    }
+}
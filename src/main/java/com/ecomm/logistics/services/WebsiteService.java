@@ -1,15 +1,16 @@
 package com.ecomm.logistics.services;
 
+import com.ecomm.logistics.cache.ExistenceCache;
 import com.ecomm.logistics.dtos.PagedResponse;
 import com.ecomm.logistics.dtos.WebsiteRequest;
 import com.ecomm.logistics.dtos.WebsiteResponse;
 import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.mappers.WebsiteMapper;
 import com.ecomm.logistics.models.Website;
 import com.ecomm.logistics.models.Website.Platform;
 import com.ecomm.logistics.models.Website.WebsiteStatus;
-import com.ecomm.logistics.repositories.OrganizationRepository;
 import com.ecomm.logistics.repositories.WebsiteRepository;
-import org.modelmapper.ModelMapper;
+import com.ecomm.logistics.utils.IdGenerator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,35 +20,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
-import java.security.SecureRandom;
 import java.util.stream.Collectors;
 
 @Service
 public class WebsiteService {
 
     private final WebsiteRepository websiteRepository;
-    private final OrganizationRepository organizationRepository;
-    private final ModelMapper modelMapper;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private final SecureRandom random = new SecureRandom();
+    private final ExistenceCache existenceCache;
+    private final WebsiteMapper websiteMapper;
+    private final IdGenerator idGenerator;
 
-    public WebsiteService(WebsiteRepository websiteRepository, OrganizationRepository organizationRepository,
-            ModelMapper modelMapper) {
+    public WebsiteService(WebsiteRepository websiteRepository, ExistenceCache existenceCache,
+            WebsiteMapper websiteMapper, IdGenerator idGenerator) {
         this.websiteRepository = websiteRepository;
-        this.organizationRepository = organizationRepository;
-        this.modelMapper = modelMapper;
-    }
-
-    private String generateAlphanumericId(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
-        }
-        return sb.toString();
+        this.existenceCache = existenceCache;
+        this.websiteMapper = websiteMapper;
+        this.idGenerator = idGenerator;
     }
 
     private void validateOrganization(String orgId) {
-        if (!organizationRepository.existsById(orgId)) {
+        if (!existenceCache.organizationExists(orgId)) {
             throw new ResourceNotFoundException("Organization not found with id: " + orgId);
         }
     }
@@ -56,20 +48,20 @@ public class WebsiteService {
     public WebsiteResponse createWebsite(String orgId, WebsiteRequest request) {
         validateOrganization(orgId);
 
-        Website website = modelMapper.map(request, Website.class);
-        website.setId(generateAlphanumericId(12));
+        Website website = websiteMapper.toEntity(request);
+        website.setId(idGenerator.nextId());
         website.setOrgId(orgId);
         if (website.getStatus() == null) {
             website.setStatus(WebsiteStatus.ACTIVE);
         }
 
         Website saved = websiteRepository.save(website);
-        return modelMapper.map(saved, WebsiteResponse.class);
+        return websiteMapper.toResponse(saved);
     }
 
     public WebsiteResponse getWebsite(String orgId, String websiteId) {
         return websiteRepository.findByOrgIdAndId(orgId, websiteId)
-                .map(site -> modelMapper.map(site, WebsiteResponse.class))
+                .map(site -> websiteMapper.toResponse(site))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Website not found with id: " + websiteId + " for organization: " + orgId));
     }
@@ -117,7 +109,7 @@ public class WebsiteService {
 
         return PagedResponse.<WebsiteResponse>builder()
                 .data(websitePage.getContent().stream()
-                        .map(website -> modelMapper.map(website, WebsiteResponse.class))
+                        .map(website -> websiteMapper.toResponse(website))
                         .collect(Collectors.toList()))
                 .page(websitePage.getNumber())
                 .size(websitePage.getSize())
@@ -152,7 +144,7 @@ public class WebsiteService {
 
         return PagedResponse.<WebsiteResponse>builder()
                 .data(websitePage.getContent().stream()
-                        .map(website -> modelMapper.map(website, WebsiteResponse.class))
+                        .map(website -> websiteMapper.toResponse(website))
                         .collect(Collectors.toList()))
                 .page(websitePage.getNumber())
                 .size(websitePage.getSize())
@@ -168,9 +160,10 @@ public class WebsiteService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Website not found with id: " + websiteId + " for organization: " + orgId));
 
-        modelMapper.map(request, website);
+        websiteMapper.merge(request, website);
         Website saved = websiteRepository.save(website);
-        return modelMapper.map(saved, WebsiteResponse.class);
+        existenceCache.evictWebsite(orgId, websiteId);
+        return websiteMapper.toResponse(saved);
     }
 
     @Transactional
@@ -179,9 +172,10 @@ public class WebsiteService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Website not found with id: " + websiteId + " for organization: " + orgId));
 
-        modelMapper.map(request, website);
+        websiteMapper.merge(request, website);
         Website saved = websiteRepository.save(website);
-        return modelMapper.map(saved, WebsiteResponse.class);
+        existenceCache.evictWebsite(orgId, websiteId);
+        return websiteMapper.toResponse(saved);
     }
 
     @Transactional
@@ -190,5 +184,6 @@ public class WebsiteService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Website not found with id: " + websiteId + " for organization: " + orgId));
         websiteRepository.delete(website);
+        existenceCache.evictWebsite(orgId, websiteId);
     }
 }
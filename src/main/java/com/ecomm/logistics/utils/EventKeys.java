@@ -0,0 +1,116 @@
+package com.ecomm.logistics.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+// Idempotency key of a tracking event: SHA-256 over orgId, trackingId, eventTime and
+// eventCode, stored as BINARY(32). Strings are length-prefixed so ("ab", "c") and
+// ("a", "bc") cannot collide, the time is written as epoch seconds plus microseconds
+// (the precision event_time keeps), and everything is UTF-8 encoded straight into a
+// per-thread buffer that feeds a per-thread digest.
+public final class EventKeys {
+
+    public static final int LENGTH = 32;
+
+    private static final ThreadLocal<Hasher> HASHERS = ThreadLocal.withInitial(Hasher::new);
+
+    private EventKeys() {
+    }
+
+    public static byte[] of(String orgId, String trackingId, LocalDateTime eventTime, String eventCode) {
+        return HASHERS.get().hash(orgId, trackingId, eventTime, eventCode);
+    }
+
+    public static String toHex(byte[] key) {
+        return key != null ? HexFormat.of().formatHex(key) : null;
+    }
+
+    private static final class Hasher {
+
+        private final MessageDigest digest;
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        private Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private byte[] hash(String orgId, String trackingId, LocalDateTime eventTime, String eventCode) {
+            position = 0;
+            putString(orgId);
+            putString(trackingId);
+            putLong(eventTime.toEpochSecond(ZoneOffset.UTC));
+            putInt(eventTime.getNano() / 1000);
+            putString(eventCode);
+            digest.update(buffer, 0, position);
+            return digest.digest();
+        }
+
+        // Byte length prefix, -1 for null, then the UTF-8 bytes
+        private void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            ensureCapacity(4 + value.length() * 3);
+            int lengthAt = position;
+            position += 4;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | c >> 6);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, encoded as '?' like String.getBytes(UTF_8)
+                    buffer[position++] = '?';
+                } else {
+                    buffer[position++] = (byte) (0xE0 | c >> 12);
+                    buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            writeInt(lengthAt, position - lengthAt - 4);
+        }
+
+        private void putLong(long value) {
+            putInt((int) (value >>> 32));
+            putInt((int) value);
+        }
+
+        private void putInt(int value) {
+            ensureCapacity(4);
+            writeInt(position, value);
+            position += 4;
+        }
+
+        private void writeInt(int at, int value) {
+            buffer[at] = (byte) (value >>> 24);
+            buffer[at + 1] = (byte) (value >>> 16);
+            buffer[at + 2] = (byte) (value >>> 8);
+            buffer[at + 3] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecomm.logistics.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style ids: 41 bits of milliseconds since EPOCH, 10 bits of node id and a
+// 12 bit per-millisecond sequence, rendered as 13 fixed-width Crockford base32 chars
+// so the string form sorts in creation order. Two instances sharing a node id can hand
+// out the same id, so logistics.ids.node-id (NODE_ID) is required; only profiles that
+// set logistics.ids.random-node-id (dev, test) may leave it to chance.
+@Component
+public class IdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long EPOCH = 1767225600000L; // 2026-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    public IdGenerator(@Value("${logistics.ids.node-id:-1}") int nodeId,
+            @Value("${logistics.ids.random-node-id:false}") boolean randomNodeId) {
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("logistics.ids.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        if (nodeId < 0 && !randomNodeId) {
+            throw new IllegalStateException("logistics.ids.node-id (NODE_ID) must be set to a value between 0 and "
+                    + MAX_NODE_ID + " that no other running instance uses");
+        }
+        this.nodeId = nodeId < 0 ? new SecureRandom().nextInt(MAX_NODE_ID + 1) : nodeId;
+    }
+
+    public String nextId() {
+        return nextId("");
+    }
+
+    public String nextId(String prefix) {
+        long id = nextLong();
+        int prefixLength = prefix.length();
+        char[] chars = new char[prefixLength + ENCODED_LENGTH];
+        prefix.getChars(0, prefixLength, chars, 0);
+        for (int i = chars.length - 1; i >= prefixLength; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public long nextLong() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastState.get();
+            // Sequence overflow or a clock step backwards borrows from the next millisecond
+            next = Math.max(now, previous + 1);
+        } while (!lastState.compareAndSet(previous, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+}
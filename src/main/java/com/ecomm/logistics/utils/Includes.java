@@ -0,0 +1,28 @@
+package com.ecomm.logistics.utils;
+
+import com.ecomm.logistics.exceptions.BadRequestException;
+
+import java.util.Set;
+
+// Parses the include=... list option. Leaving it out keeps every child collection
+// in the response as before; include=none (or any explicit list) drops the rest.
+public final class Includes {
+
+    public static final String NONE = "none";
+
+    private Includes() {
+    }
+
+    public static boolean includes(Set<String> include, String child, Set<String> supported) {
+        if (include == null) {
+            return true;
+        }
+        for (String value : include) {
+            if (!NONE.equals(value) && !supported.contains(value)) {
+                throw new BadRequestException("Unsupported include: " + value + ", expected one of " + supported
+                        + " or " + NONE);
+            }
+        }
+        return include.contains(child);
+    }
+}
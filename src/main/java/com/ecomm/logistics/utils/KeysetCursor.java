@@ -0,0 +1,74 @@
+package com.ecomm.logistics.utils;
+
+import com.ecomm.logistics.exceptions.BadRequestException;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+// Opaque seek position for cursor paging: the sort column value and id of the last
+// row served. Rows are ordered by (sort property, id) so the pair is unique and the
+// next page is a range scan from that point instead of an OFFSET.
+public record KeysetCursor(String property, Sort.Direction direction, LocalDateTime value, String id) {
+
+    private static final String ID = "id";
+    private static final char SEPARATOR = '|';
+
+    public static void validate(String property, int size, Set<String> timestampProperties) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        if (!ID.equals(property) && !timestampProperties.contains(property)) {
+            throw new BadRequestException("Cursor paging supports sort by " + timestampProperties + " or id, not: "
+                    + property);
+        }
+    }
+
+    public static Sort sort(String property, Sort.Direction direction) {
+        return ID.equals(property) ? Sort.by(direction, ID) : Sort.by(direction, property).and(Sort.by(direction, ID));
+    }
+
+    public static KeysetCursor of(String property, Sort.Direction direction, LocalDateTime value, String id) {
+        return new KeysetCursor(property, direction, ID.equals(property) ? null : value, id);
+    }
+
+    public static KeysetCursor decode(String cursor, String property, Sort.Direction direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !parts[0].equals(property) || !parts[1].equals(direction.name())) {
+                throw new BadRequestException("Cursor does not match the requested sort");
+            }
+            LocalDateTime value = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            return new KeysetCursor(property, direction, value, parts[3]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + (value == null ? "" : value.toString())
+                + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Rows strictly after this cursor in (property, id) order
+    public <T> Specification<T> after() {
+        boolean ascending = direction.isAscending();
+        return (root, query, cb) -> {
+            Path<String> idPath = root.get(ID);
+            if (value == null) {
+                return ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            }
+            Path<LocalDateTime> path = root.get(property);
+            return cb.or(
+                    ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value),
+                    cb.and(cb.equal(path, value), ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id)));
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecomm.logistics.utils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+
+// Aho-Corasick automaton over normalised codes: letters are upper-cased, digits kept
+// and every other character becomes a '_' separator. Keywords are matched as whole
+// tokens by running both keyword and input with a separator on each side, so "OUT"
+// matches "OUT_FOR_DELIVERY" but not "EN_ROUTE". Each keyword carries a rank and a
+// scan returns the highest rank seen, in one pass and without allocating.
+public final class KeywordAutomaton {
+
+    private static final int ALPHABET = 37;
+    private static final int SEPARATOR = 36;
+
+    private final int[][] transitions;
+    private final int[] ranks;
+
+    public KeywordAutomaton(Map<String, Integer> keywordRanks) {
+        int maxStates = 1;
+        for (String keyword : keywordRanks.keySet()) {
+            maxStates += keyword.length() + 2;
+        }
+        int[][] next = new int[maxStates][];
+        int[] rank = new int[maxStates];
+        next[0] = newRow();
+        int states = 1;
+
+        for (Map.Entry<String, Integer> entry : keywordRanks.entrySet()) {
+            String keyword = entry.getKey();
+            int state = 0;
+            for (int i = -1; i <= keyword.length(); i++) {
+                int symbol = i < 0 || i == keyword.length() ? SEPARATOR : symbol(keyword.charAt(i));
+                if (next[state][symbol] < 0) {
+                    next[states] = newRow();
+                    next[state][symbol] = states++;
+                }
+                state = next[state][symbol];
+            }
+            rank[state] = Math.max(rank[state], entry.getValue());
+        }
+
+        // Breadth-first: fill missing transitions from the failure state and inherit
+        // the best rank of every keyword that is a suffix of the current path
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = next[0][symbol];
+            if (child < 0) {
+                next[0][symbol] = 0;
+            } else {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            rank[state] = Math.max(rank[state], rank[failure[state]]);
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = next[state][symbol];
+                if (child < 0) {
+                    next[state][symbol] = next[failure[state]][symbol];
+                } else {
+                    failure[child] = next[failure[state]][symbol];
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(next, states);
+        this.ranks = Arrays.copyOf(rank, states);
+    }
+
+    // Highest rank of any keyword token in the input, or 0 when none match
+    public int match(CharSequence input) {
+        int state = transitions[0][SEPARATOR];
+        int best = ranks[state];
+        for (int i = 0; i < input.length(); i++) {
+            state = transitions[state][symbol(input.charAt(i))];
+            best = Math.max(best, ranks[state]);
+        }
+        state = transitions[state][SEPARATOR];
+        return Math.max(best, ranks[state]);
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + c - '0';
+        }
+        return SEPARATOR;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecomm.logistics.utils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Distinct, sorted trigrams of a folded string. Each trigram is three code points
+// packed 21 bits apiece into a long, which keeps the search_ngrams key compact and
+// independent of the column collation. The LIKE these prefilter compares under
+// utf8mb4_0900_ai_ci, so folding drops case, accents and compatibility forms the
+// same way ("Café" and "cafe" share their grams). Strings shorter than three code
+// points have none.
+public final class Trigrams {
+
+    public static final int LENGTH = 3;
+    private static final long[] NONE = new long[0];
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private Trigrams() {
+    }
+
+    public static long[] of(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        int[] codePoints = fold(value).codePoints().toArray();
+        if (codePoints.length < LENGTH) {
+            return NONE;
+        }
+        long[] grams = new long[codePoints.length - LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) codePoints[i] << 42 | (long) codePoints[i + 1] << 21 | codePoints[i + 2];
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
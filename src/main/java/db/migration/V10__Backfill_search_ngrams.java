@@ -0,0 +1,100 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Indexes the orders and organizations that existed before search_ngrams did, in
+// keyset chunks over each primary key. Later writes keep it current through
+// SearchIndexService. The field names and the trigram folding and packing are
+// copied from SearchNgram.Field and Trigrams as of this version, so changing those
+// later cannot change what this migration writes.
+public class V10__Backfill_search_ngrams extends BaseJavaMigration {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String INSERT = "INSERT INTO search_ngrams (field_name, scope_id, gram, entity_id, entity_type)"
+            + " VALUES (?, ?, ?, ?, ?)";
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        backfill(connection, "SELECT id, org_id, external_order_id, external_order_number, customer_email"
+                + " FROM orders WHERE id > ? ORDER BY id LIMIT " + CHUNK_SIZE,
+                "ORDER", "ORDER_EXTERNAL_ORDER_ID", "ORDER_EXTERNAL_ORDER_NUMBER", "ORDER_CUSTOMER_EMAIL");
+        backfill(connection, "SELECT id, '' AS org_id, name, external_id"
+                + " FROM organizations WHERE id > ? ORDER BY id LIMIT " + CHUNK_SIZE,
+                "ORGANIZATION", "ORGANIZATION_NAME", "ORGANIZATION_EXTERNAL_ID");
+    }
+
+    // The select returns id and scope first, then one column per field in order
+    private void backfill(Connection connection, String select, String entityType, String... fields)
+            throws SQLException {
+        try (PreparedStatement rows = connection.prepareStatement(select);
+                PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            String lastId = "";
+            int count;
+            do {
+                count = 0;
+                rows.setString(1, lastId);
+                try (ResultSet resultSet = rows.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getString(1);
+                        String scopeId = resultSet.getString(2);
+                        for (int i = 0; i < fields.length; i++) {
+                            for (long gram : trigrams(resultSet.getString(3 + i))) {
+                                insert.setString(1, fields[i]);
+                                insert.setString(2, scopeId);
+                                insert.setLong(3, gram);
+                                insert.setString(4, lastId);
+                                insert.setString(5, entityType);
+                                insert.addBatch();
+                            }
+                        }
+                        count++;
+                    }
+                }
+                insert.executeBatch();
+            } while (count == CHUNK_SIZE);
+        }
+    }
+
+    // Distinct, sorted trigrams of the folded value, three code points packed 21 bits
+    // apiece into a long
+    private static long[] trigrams(String value) {
+        if (value == null) {
+            return new long[0];
+        }
+        int[] codePoints = fold(value).codePoints().toArray();
+        if (codePoints.length < GRAM_LENGTH) {
+            return new long[0];
+        }
+        long[] grams = new long[codePoints.length - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) codePoints[i] << 42 | (long) codePoints[i + 1] << 21 | codePoints[i + 2];
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    // Drops case, accents and compatibility forms
+    private static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
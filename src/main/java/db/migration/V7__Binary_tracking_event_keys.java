@@ -0,0 +1,98 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Replaces the 64-char hex event_hash with a BINARY(32) event_key. The keys are
+// recomputed from the stored columns rather than converted, because the old hash
+// concatenated the fields without delimiters; doing it in Java keeps the migration
+// portable between MySQL and H2. The encoding is a frozen copy of EventKeys as of
+// this version, so later changes there cannot change what this migration writes.
+public class V7__Binary_tracking_event_keys extends BaseJavaMigration {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE tracking_events ADD COLUMN event_key BINARY(32)");
+        }
+
+        backfill(connection, MessageDigest.getInstance("SHA-256"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE tracking_events MODIFY COLUMN event_key BINARY(32) NOT NULL");
+            statement.execute("CREATE UNIQUE INDEX uk_tracking_events_event_key ON tracking_events (event_key)");
+            statement.execute("DROP INDEX uk_tracking_events_event_hash ON tracking_events");
+            statement.execute("ALTER TABLE tracking_events DROP COLUMN event_hash");
+        }
+    }
+
+    // Keyset pages over the primary key so each chunk is one short read plus one batch
+    private void backfill(Connection connection, MessageDigest digest) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, org_id, tracking_id, event_time, event_code FROM tracking_events"
+                        + " WHERE id > ? ORDER BY id LIMIT " + CHUNK_SIZE);
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE tracking_events SET event_key = ? WHERE id = ?")) {
+            String lastId = "";
+            int rows;
+            do {
+                rows = 0;
+                select.setString(1, lastId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getString("id");
+                        update.setBytes(1, eventKey(digest, resultSet.getString("org_id"),
+                                resultSet.getString("tracking_id"),
+                                resultSet.getObject("event_time", LocalDateTime.class),
+                                resultSet.getString("event_code")));
+                        update.setString(2, lastId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows > 0) {
+                    update.executeBatch();
+                }
+            } while (rows == CHUNK_SIZE);
+        }
+    }
+
+    // SHA-256 over the length-prefixed orgId and trackingId, the event time as epoch
+    // seconds plus microseconds, then the length-prefixed eventCode. Integers are big
+    // endian and strings UTF-8, with a length of -1 for null.
+    private static byte[] eventKey(MessageDigest digest, String orgId, String trackingId,
+            LocalDateTime eventTime, String eventCode) {
+        putString(digest, orgId);
+        putString(digest, trackingId);
+        digest.update(ByteBuffer.allocate(12)
+                .putLong(eventTime.toEpochSecond(ZoneOffset.UTC))
+                .putInt(eventTime.getNano() / 1000)
+                .array());
+        putString(digest, eventCode);
+        return digest.digest();
+    }
+
+    private static void putString(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+}
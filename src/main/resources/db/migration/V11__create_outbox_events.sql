@@ -0,0 +1,17 @@
+-- Transactional outbox: one row per order, fulfillment, tracking or tracking event
+-- change, written in the transaction that makes the change. The auto-increment id
+-- is the offset subscribers resume from; (org_id, id) serves their reads and
+-- created_at the retention cleanup.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    org_id VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id VARCHAR(255) NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    payload MEDIUMTEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_events_org ON outbox_events (org_id, id);
+CREATE INDEX idx_outbox_events_created ON outbox_events (created_at);
@@ -0,0 +1,107 @@
+-- Baseline schema as previously generated by ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS organizations (
+    id VARCHAR(255) NOT NULL,
+    external_id VARCHAR(255),
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS websites (
+    id VARCHAR(255) NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    code VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    platform VARCHAR(32) NOT NULL,
+    domain VARCHAR(255),
+    status VARCHAR(32) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id VARCHAR(255) NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    website_id VARCHAR(255) NOT NULL,
+    external_order_id VARCHAR(255) NOT NULL,
+    external_order_number VARCHAR(255),
+    status VARCHAR(32) NOT NULL,
+    financial_status VARCHAR(32) NOT NULL,
+    fulfillment_status VARCHAR(32) NOT NULL,
+    customer_email VARCHAR(255),
+    order_total DECIMAL(38, 2) NOT NULL,
+    currency VARCHAR(255),
+    order_created_at DATETIME(6),
+    order_updated_at DATETIME(6),
+    ingested_at DATETIME(6),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id VARCHAR(255) NOT NULL,
+    order_id VARCHAR(255) NOT NULL,
+    external_line_item_id VARCHAR(255),
+    sku VARCHAR(255),
+    name VARCHAR(255),
+    quantity INT,
+    price DECIMAL(38, 2),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE IF NOT EXISTS fulfillments (
+    id VARCHAR(255) NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    order_id VARCHAR(255) NOT NULL,
+    external_fulfillment_id VARCHAR(255) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    carrier VARCHAR(255),
+    service_level VARCHAR(255),
+    shipped_at DATETIME(6),
+    delivered_at DATETIME(6),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tracking (
+    id VARCHAR(255) NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    fulfillment_id VARCHAR(255) NOT NULL,
+    tracking_number VARCHAR(255) NOT NULL,
+    carrier VARCHAR(255),
+    tracking_url VARCHAR(255),
+    status VARCHAR(32) NOT NULL,
+    is_primary BOOLEAN NOT NULL,
+    last_event_at DATETIME(6),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tracking_events (
+    id VARCHAR(255) NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    tracking_id VARCHAR(255) NOT NULL,
+    event_time DATETIME(6) NOT NULL,
+    event_code VARCHAR(255) NOT NULL,
+    event_description VARCHAR(255),
+    event_city VARCHAR(255),
+    event_state VARCHAR(255),
+    event_country VARCHAR(255),
+    event_zip VARCHAR(255),
+    source VARCHAR(32) NOT NULL,
+    event_hash VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tracking_events_tracking FOREIGN KEY (tracking_id) REFERENCES tracking (id)
+);
@@ -0,0 +1,30 @@
+-- One index per repository access pattern. Columns follow equality filters first,
+-- then the range or sort column, then id as the keyset tie-breaker.
+-- The unique keys back the upsert paths; existing duplicates must be cleaned up
+-- before this migration can apply.
+
+CREATE INDEX idx_organizations_external_id ON organizations (external_id);
+CREATE INDEX idx_organizations_status_created ON organizations (status, created_at);
+
+CREATE INDEX idx_websites_org_created ON websites (org_id, created_at);
+CREATE INDEX idx_websites_org_status ON websites (org_id, status);
+CREATE INDEX idx_websites_org_platform ON websites (org_id, platform);
+
+CREATE UNIQUE INDEX uk_orders_org_website_external_order ON orders (org_id, website_id, external_order_id);
+CREATE INDEX idx_orders_org_ingested ON orders (org_id, ingested_at, id);
+CREATE INDEX idx_orders_org_updated ON orders (org_id, updated_at, id);
+CREATE INDEX idx_orders_org_website_ingested ON orders (org_id, website_id, ingested_at);
+CREATE INDEX idx_orders_org_external_number ON orders (org_id, external_order_number);
+CREATE INDEX idx_orders_org_customer_email ON orders (org_id, customer_email);
+
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+
+CREATE INDEX idx_fulfillments_org_order_external ON fulfillments (org_id, order_id, external_fulfillment_id);
+CREATE INDEX idx_fulfillments_order_updated ON fulfillments (order_id, updated_at, id);
+
+CREATE UNIQUE INDEX uk_tracking_fulfillment_number ON tracking (fulfillment_id, tracking_number);
+CREATE INDEX idx_tracking_org_number ON tracking (org_id, tracking_number);
+CREATE INDEX idx_tracking_fulfillment_updated ON tracking (fulfillment_id, updated_at, id);
+
+CREATE UNIQUE INDEX uk_tracking_events_event_hash ON tracking_events (event_hash);
+CREATE INDEX idx_tracking_events_tracking_time ON tracking_events (tracking_id, event_time);
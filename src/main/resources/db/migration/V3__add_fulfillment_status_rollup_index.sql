@@ -0,0 +1,3 @@
+-- Covers the grouped count-by-status query behind the order fulfillment rollup,
+-- so it is answered from the index without touching fulfillment rows.
+CREATE INDEX idx_fulfillments_org_order_status ON fulfillments (org_id, order_id, status);
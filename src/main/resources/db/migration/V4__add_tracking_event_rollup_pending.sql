@@ -0,0 +1,5 @@
+-- Events appended in async mode stay pending until a rollup worker has folded them
+-- into their tracking row; the index serves startup recovery and the clear-out.
+ALTER TABLE tracking_events ADD COLUMN rollup_pending BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_tracking_events_rollup_pending ON tracking_events (rollup_pending, tracking_id);
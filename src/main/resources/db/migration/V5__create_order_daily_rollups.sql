@@ -0,0 +1,14 @@
+-- Order counts and totals per org, website, ingest date and status combination,
+-- kept current by the order and fulfillment writes. The key leads with
+-- (org_id, rollup_date) so a dashboard range is one short range scan.
+CREATE TABLE IF NOT EXISTS order_daily_rollups (
+    org_id VARCHAR(255) NOT NULL,
+    rollup_date DATE NOT NULL,
+    website_id VARCHAR(255) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    financial_status VARCHAR(32) NOT NULL,
+    fulfillment_status VARCHAR(32) NOT NULL,
+    order_count BIGINT NOT NULL,
+    order_total DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (org_id, rollup_date, website_id, status, financial_status, fulfillment_status)
+);
@@ -0,0 +1,5 @@
+-- Orders are bucketed into order_daily_rollups by ingest date, both by the
+-- incremental writers and by a rebuild. Rows written without one fall back to their
+-- creation time so the two always agree.
+UPDATE orders SET ingested_at = COALESCE(created_at, CURRENT_TIMESTAMP(6)) WHERE ingested_at IS NULL;
+ALTER TABLE orders MODIFY ingested_at DATETIME(6) NOT NULL;
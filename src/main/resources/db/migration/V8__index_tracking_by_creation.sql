@@ -0,0 +1,6 @@
+-- A tracking number resolves to its newest tracking by created_at, id breaking ties.
+-- Both the number lookup and the startup warm-up read that order from an index
+-- instead of sorting.
+DROP INDEX idx_tracking_org_number ON tracking;
+CREATE INDEX idx_tracking_org_number ON tracking (org_id, tracking_number, created_at, id);
+CREATE INDEX idx_tracking_created ON tracking (created_at, id);
@@ -0,0 +1,13 @@
+-- Trigram postings behind the substring searches on orders and organizations.
+-- The key leads with (field_name, scope_id, gram) so each trigram of a term is one
+-- range scan; the entity index serves rewrites and deletes of a single row.
+CREATE TABLE IF NOT EXISTS search_ngrams (
+    field_name VARCHAR(64) NOT NULL,
+    scope_id VARCHAR(255) NOT NULL,
+    gram BIGINT NOT NULL,
+    entity_id VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(32) NOT NULL,
+    PRIMARY KEY (field_name, scope_id, gram, entity_id)
+);
+
+CREATE INDEX idx_search_ngrams_entity ON search_ngrams (entity_type, entity_id);
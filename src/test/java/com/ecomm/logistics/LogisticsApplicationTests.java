@@ -3,7 +3,8 @@ package com.ecomm.logistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// One JVM, so a random node id cannot collide; a deployment has to set NODE_ID
+@SpringBootTest(properties = "logistics.ids.random-node-id=true")
 class LogisticsApplicationTests {
 
 	@Test
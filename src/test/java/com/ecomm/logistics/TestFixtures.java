@@ -0,0 +1,91 @@
+package com.ecomm.logistics;
+
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrganizationRequest;
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.WebsiteRequest;
+import com.ecomm.logistics.models.TrackingEvent.EventSource;
+import com.ecomm.logistics.models.Website.Platform;
+import com.ecomm.logistics.services.OrganizationService;
+import com.ecomm.logistics.services.WebsiteService;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+// The organization, website, order and carrier-event fixtures shared by the tests and
+// benchmarks. Organizations get a random external id, so tests sharing a context and
+// its database never collide; codes and external ids are derived from the name.
+public class TestFixtures {
+
+    public record Store(String orgId, String websiteId) {
+    }
+
+    private final OrganizationService organizationService;
+    private final WebsiteService websiteService;
+
+    public TestFixtures(ApplicationContext context) {
+        this.organizationService = context.getBean(OrganizationService.class);
+        this.websiteService = context.getBean(WebsiteService.class);
+    }
+
+    public Store store(String name) {
+        return store(name, Platform.CUSTOM);
+    }
+
+    public Store store(String name, Platform platform) {
+        String orgId = organization(name);
+        return new Store(orgId, website(orgId, name, platform));
+    }
+
+    public String organization(String name) {
+        OrganizationRequest organization = new OrganizationRequest();
+        organization.setName(name);
+        organization.setExternalId(code(name) + "-" + UUID.randomUUID());
+        return organizationService.createOrganization(organization).getId();
+    }
+
+    public String website(String orgId, String name, Platform platform) {
+        WebsiteRequest website = new WebsiteRequest();
+        website.setCode(code(name));
+        website.setName(name);
+        website.setPlatform(platform);
+        return websiteService.createWebsite(orgId, website).getId();
+    }
+
+    // A USD order without items
+    public static OrderRequest order(String orgId, String websiteId, String externalOrderId, String total) {
+        OrderRequest request = new OrderRequest();
+        request.setOrgId(orgId);
+        request.setWebsiteId(websiteId);
+        request.setExternalOrderId(externalOrderId);
+        request.setOrderTotal(new BigDecimal(total));
+        request.setCurrency("USD");
+        return request;
+    }
+
+    // A single unit of the SKU
+    public static OrderItemRequest item(String externalLineItemId, String sku, String price) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setExternalLineItemId(externalLineItemId);
+        item.setSku(sku);
+        item.setQuantity(1);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+
+    public static TrackingEventRequest event(String code, LocalDateTime eventTime) {
+        TrackingEventRequest request = new TrackingEventRequest();
+        request.setEventTime(eventTime);
+        request.setEventCode(code);
+        request.setSource(EventSource.CARRIER);
+        return request;
+    }
+
+    private static String code(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.utils.EventKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+// CPU side: the old per-call MessageDigest.getInstance + string concat + hex encode
+// against EventKeys; run with -prof gc for the allocation difference.
+// Index side: main() loads the same keys into a VARCHAR(255) hex column and a
+// BINARY(32) column on a MySQL instance and prints the InnoDB size of each unique
+// index, e.g. -Dbench.db.url=jdbc:mysql://localhost:3306/bench?user=root&password=...
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventKeyBenchmark {
+
+    private static final String ORG_ID = "ORG0K3Q9Z5W8B1XA";
+    private static final String TRACKING_ID = "TRK0K3QA1C7M4D2F";
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2026, 5, 4, 13, 45, 10, 123_456_000);
+    private static final String EVENT_CODE = "OUT_FOR_DELIVERY";
+
+    private static String legacyHash(String orgId, String trackingId, LocalDateTime eventTime, String eventCode) {
+        String base = orgId + trackingId + eventTime.toString() + eventCode;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(base.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    @Benchmark
+    public String legacyHexHash() {
+        return legacyHash(ORG_ID, TRACKING_ID, EVENT_TIME, EVENT_CODE);
+    }
+
+    @Benchmark
+    public byte[] binaryKey() {
+        return EventKeys.of(ORG_ID, TRACKING_ID, EVENT_TIME, EVENT_CODE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyHexHashContended() {
+        return legacyHash(ORG_ID, TRACKING_ID, EVENT_TIME, EVENT_CODE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] binaryKeyContended() {
+        return EventKeys.of(ORG_ID, TRACKING_ID, EVENT_TIME, EVENT_CODE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.db.url");
+        int rows = Integer.getInteger("bench.rows", 1_000_000);
+        if (url == null) {
+            throw new IllegalArgumentException("Set -Dbench.db.url to a scratch MySQL database");
+        }
+        try (Connection connection = DriverManager.getConnection(url);
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_hex_keys, bench_binary_keys");
+            statement.execute("CREATE TABLE bench_hex_keys (id BIGINT PRIMARY KEY,"
+                    + " event_hash VARCHAR(255) NOT NULL, UNIQUE KEY uk_key (event_hash))");
+            statement.execute("CREATE TABLE bench_binary_keys (id BIGINT PRIMARY KEY,"
+                    + " event_key BINARY(32) NOT NULL, UNIQUE KEY uk_key (event_key))");
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement hex = connection.prepareStatement("INSERT INTO bench_hex_keys VALUES (?, ?)");
+                    PreparedStatement binary = connection.prepareStatement(
+                            "INSERT INTO bench_binary_keys VALUES (?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    LocalDateTime time = EVENT_TIME.plusSeconds(i);
+                    hex.setLong(1, i);
+                    hex.setString(2, legacyHash(ORG_ID, TRACKING_ID, time, EVENT_CODE));
+                    hex.addBatch();
+                    binary.setLong(1, i);
+                    binary.setBytes(2, EventKeys.of(ORG_ID, TRACKING_ID, time, EVENT_CODE));
+                    binary.addBatch();
+                    if (i % 5_000 == 4_999) {
+                        hex.executeBatch();
+                        binary.executeBatch();
+                        connection.commit();
+                    }
+                }
+                hex.executeBatch();
+                binary.executeBatch();
+                connection.commit();
+            }
+            connection.setAutoCommit(true);
+
+            statement.execute("ANALYZE TABLE bench_hex_keys, bench_binary_keys");
+            try (ResultSet sizes = statement.executeQuery("SELECT table_name, stat_value * @@innodb_page_size"
+                    + " FROM mysql.innodb_index_stats WHERE database_name = DATABASE()"
+                    + " AND table_name IN ('bench_hex_keys', 'bench_binary_keys')"
+                    + " AND index_name = 'uk_key' AND stat_name = 'size'")) {
+                while (sizes.next()) {
+                    System.out.printf("%s: %,d bytes for %,d keys%n", sizes.getString(1), sizes.getLong(2), rows);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.utils.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+// Compares the per-service SecureRandom ids that used to live in every service
+// with the shared IdGenerator, single threaded and with 8 contending threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private final SecureRandom random = new SecureRandom();
+    private final IdGenerator idGenerator = new IdGenerator(1, false);
+
+    private String legacyId(int length, String prefix) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+        }
+        return prefix + sb.toString().substring(prefix.length());
+    }
+
+    @Benchmark
+    public String legacySecureRandom() {
+        return legacyId(12, "ORD");
+    }
+
+    @Benchmark
+    public String idGenerator() {
+        return idGenerator.nextId("ORD");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacySecureRandomContended() {
+        return legacyId(12, "ORD");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String idGeneratorContended() {
+        return idGenerator.nextId("ORD");
+    }
+}
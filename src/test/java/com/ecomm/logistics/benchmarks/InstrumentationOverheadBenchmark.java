@@ -0,0 +1,114 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.config.MethodTimingInterceptor;
+import com.ecomm.logistics.config.SqlStatementCounter;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.mappers.OrderMapper;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.OrderItem;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the instrumentation on its cheapest target: an order mapped to its response
+// directly, through the timing proxy recording into a Prometheus histogram, and with
+// the statement counter's per-statement work on a stub connection. A service call
+// spends milliseconds in the database, so the per-call cost measured here is what
+// bounds the overhead there.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class InstrumentationOverheadBenchmark {
+
+    private OrderMapper plain;
+    private OrderMapper timed;
+    private Connection connection;
+    private Order order;
+
+    @Setup
+    public void setup() throws SQLException {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+
+        plain = new OrderMapper();
+        ProxyFactory proxyFactory = new ProxyFactory(new OrderMapper());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new MethodTimingInterceptor(() -> registry));
+        timed = (OrderMapper) proxyFactory.getProxy();
+        Connection stub = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> null);
+        DataSource dataSource = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DataSource.class }, (proxy, method, args) -> stub);
+        connection = ((DataSource) new SqlStatementCounter().postProcessAfterInitialization(dataSource, "dataSource"))
+                .getConnection();
+
+        LocalDateTime now = LocalDateTime.now();
+        order = new Order();
+        order.setId("ORD0000000000001");
+        order.setOrgId("ORG1");
+        order.setWebsiteId("WEB1");
+        order.setExternalOrderId("10001");
+        order.setStatus(Order.OrderStatus.CREATED);
+        order.setCustomerEmail("customer@example.com");
+        order.setOrderTotal(new BigDecimal("129.95"));
+        order.setCurrency("USD");
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        for (int i = 0; i < 5; i++) {
+            OrderItem item = new OrderItem();
+            item.setId("ITM000000000000" + i);
+            item.setSku("SKU-" + i);
+            item.setQuantity(1);
+            item.setPrice(new BigDecimal("25.99"));
+            order.addItem(item);
+        }
+    }
+
+    @Benchmark
+    public OrderResponse mapPlain() {
+        return plain.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse mapTimed() {
+        return timed.toResponse(order);
+    }
+
+    @Benchmark
+    public int countStatement() throws SQLException {
+        SqlStatementCounter.begin();
+        connection.prepareStatement("select 1");
+        return SqlStatementCounter.end();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.dtos.TrackingEventResponse;
+import com.ecomm.logistics.mappers.OrderMapper;
+import com.ecomm.logistics.mappers.TrackingEventMapper;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.OrderItem;
+import com.ecomm.logistics.models.Tracking;
+import com.ecomm.logistics.models.TrackingEvent;
+import com.ecomm.logistics.utils.EventKeys;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Per-object mapping cost of the reflective ModelMapper setup the services used
+// to share against the hand-written mappers. Run with -prof gc to compare
+// allocation per operation as well.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private OrderMapper orderMapper;
+    private TrackingEventMapper eventMapper;
+    private Order order;
+    private OrderRequest orderRequest;
+    private Order mergeTarget;
+    private TrackingEvent event;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setFieldMatchingEnabled(true)
+                .setSkipNullEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        orderMapper = new OrderMapper();
+        eventMapper = new TrackingEventMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        order = new Order();
+        order.setId("ORD0000000000001");
+        order.setOrgId("ORG1");
+        order.setWebsiteId("WEB1");
+        order.setExternalOrderId("10001");
+        order.setExternalOrderNumber("#10001");
+        order.setStatus(Order.OrderStatus.CREATED);
+        order.setFinancialStatus(Order.FinancialStatus.PAID);
+        order.setFulfillmentStatus(Order.FulfillmentOverallStatus.UNFULFILLED);
+        order.setCustomerEmail("customer@example.com");
+        order.setOrderTotal(new BigDecimal("129.95"));
+        order.setCurrency("USD");
+        order.setOrderCreatedAt(now);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        for (int i = 0; i < 5; i++) {
+            OrderItem item = new OrderItem();
+            item.setId("ITM000000000000" + i);
+            item.setExternalLineItemId("line-" + i);
+            item.setSku("SKU-" + i);
+            item.setName("Item " + i);
+            item.setQuantity(1);
+            item.setPrice(new BigDecimal("25.99"));
+            order.addItem(item);
+        }
+
+        orderRequest = new OrderRequest();
+        orderRequest.setStatus(Order.OrderStatus.CLOSED);
+        orderRequest.setCustomerEmail("other@example.com");
+        orderRequest.setOrderTotal(new BigDecimal("99.00"));
+        mergeTarget = new Order();
+
+        Tracking tracking = new Tracking();
+        tracking.setId("TRK0000000000001");
+        event = new TrackingEvent();
+        event.setId("EVT0000000000001");
+        event.setOrgId("ORG1");
+        event.setTracking(tracking);
+        event.setEventTime(now);
+        event.setEventCode("IN_TRANSIT");
+        event.setEventCity("Memphis");
+        event.setSource(TrackingEvent.EventSource.CARRIER);
+        event.setEventKey(new byte[EventKeys.LENGTH]);
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponseModelMapper() {
+        return modelMapper.map(order, OrderResponse.class);
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponseMapper() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public Order mergeOrderModelMapper() {
+        modelMapper.map(orderRequest, mergeTarget);
+        return mergeTarget;
+    }
+
+    @Benchmark
+    public Order mergeOrderMapper() {
+        orderMapper.merge(orderRequest, mergeTarget);
+        return mergeTarget;
+    }
+
+    @Benchmark
+    public TrackingEventResponse eventToResponseModelMapper() {
+        return modelMapper.map(event, TrackingEventResponse.class);
+    }
+
+    @Benchmark
+    public TrackingEventResponse eventToResponseMapper() {
+        return eventMapper.toResponse(event);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.LogisticsApplication;
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.services.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// createOrder against the in-memory test database: a new order with N line items
+// per call (insert path) and the same order delivered again (upsert-and-merge path).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private String orgId;
+    private String websiteId;
+    private OrderRequest redelivered;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LogisticsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        orderService = context.getBean(OrderService.class);
+
+        Store store = new TestFixtures(context).store("Create benchmark");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+
+        redelivered = order("REDELIVERED");
+        orderService.createOrder(redelivered);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createNew() {
+        return orderService.createOrder(order("EXT-" + sequence++));
+    }
+
+    @Benchmark
+    public OrderResponse createRedelivered() {
+        return orderService.createOrder(redelivered);
+    }
+
+    private OrderRequest order(String externalOrderId) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, externalOrderId, "19.99");
+        request.setExternalOrderNumber("#" + externalOrderId);
+        request.setCustomerEmail("customer@example.com");
+        request.setOrderTotal(request.getOrderTotal().multiply(BigDecimal.valueOf(itemCount)));
+
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        for (int line = 0; line < itemCount; line++) {
+            OrderItemRequest item = TestFixtures.item("LINE-" + line, "SKU-" + line, "19.99");
+            item.setName("Item " + line);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.LogisticsApplication;
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.services.OrderExportService;
+import com.ecomm.logistics.services.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end export throughput against the in-memory test database. Run with
+// -prof gc to confirm allocation per exported order stays constant as the
+// range grows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderExportBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int orderCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderExportService exportService;
+    private String orgId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LogisticsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        exportService = context.getBean(OrderExportService.class);
+
+        Store store = new TestFixtures(context).store("Export benchmark");
+        orgId = store.orgId();
+        String websiteId = store.websiteId();
+
+        from = LocalDateTime.now().minusMinutes(1);
+        OrderService orderService = context.getBean(OrderService.class);
+        for (int i = 0; i < orderCount; i++) {
+            orderService.createOrder(order(websiteId, i));
+        }
+        to = LocalDateTime.now().plusMinutes(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long exportRange() throws IOException {
+        return exportService.exportOrders(orgId, null, from, to, OutputStream.nullOutputStream());
+    }
+
+    private OrderRequest order(String websiteId, int index) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, "EXT-" + index, "59.97");
+        request.setExternalOrderNumber("#" + index);
+        request.setCustomerEmail("customer" + index + "@example.com");
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int line = 0; line < 3; line++) {
+            OrderItemRequest item = TestFixtures.item("LINE-" + index + "-" + line, "SKU-" + line, "19.99");
+            item.setName("Item " + line);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+}
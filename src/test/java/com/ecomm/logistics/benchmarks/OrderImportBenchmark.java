@@ -0,0 +1,95 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.LogisticsApplication;
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.models.Website.Platform;
+import com.ecomm.logistics.services.OrderImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Wall time of one POST /orders/import backfill of N orders with three items each,
+// into a fresh website every iteration so every order is new. The target is 100k
+// orders in under a minute; point spring.datasource.url at MySQL with -D to check it
+// against the real database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OrderImportBenchmark {
+
+    @Param({ "100000" })
+    private int orderCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderImportService importService;
+    private TestFixtures fixtures;
+    private String orgId;
+    private String websiteId;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LogisticsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        importService = context.getBean(OrderImportService.class);
+        fixtures = new TestFixtures(context);
+        orgId = fixtures.organization("Import benchmark");
+
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < orderCount; i++) {
+            lines.append("{\"externalOrderId\":\"").append(i)
+                    .append("\",\"externalOrderNumber\":\"#").append(i)
+                    .append("\",\"customerEmail\":\"customer").append(i % 5000).append("@example.com\"")
+                    .append(",\"financialStatus\":\"PAID\",\"orderTotal\":59.97,\"currency\":\"USD\"")
+                    .append(",\"orderCreatedAt\":\"2026-01-01T10:00:00\",\"items\":[");
+            for (int line = 0; line < 3; line++) {
+                lines.append(line > 0 ? "," : "")
+                        .append("{\"externalLineItemId\":\"L").append(line)
+                        .append("\",\"sku\":\"SKU-").append(line)
+                        .append("\",\"quantity\":1,\"price\":19.99}");
+            }
+            lines.append("]}\n");
+        }
+        ndjson = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void newWebsite() {
+        websiteId = fixtures.website(orgId, "Import benchmark", Platform.SHOPIFY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long importOrders() throws IOException {
+        return importService.importOrders(orgId, websiteId, new ByteArrayInputStream(ndjson),
+                OutputStream.nullOutputStream());
+    }
+}
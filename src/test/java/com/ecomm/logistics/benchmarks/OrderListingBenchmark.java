@@ -0,0 +1,115 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.LogisticsApplication;
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.dtos.PagedResponse;
+import com.ecomm.logistics.services.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// listOrders at increasing page depths over one organization's orders: the offset
+// page, the same rows reached through a keyset cursor, and the offset page with
+// items included.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderListingBenchmark {
+
+    private static final int ORDERS = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final String SORT = "createdAt,desc";
+
+    @Param({ "0", "20", "150" })
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private String orgId;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LogisticsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        orderService = context.getBean(OrderService.class);
+
+        Store store = new TestFixtures(context).store("Listing benchmark");
+        orgId = store.orgId();
+        String websiteId = store.websiteId();
+
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.createOrder(order(websiteId, i));
+        }
+
+        // Cursor of the page before the measured one, found by walking from the start
+        cursor = "";
+        for (int i = 0; i < page; i++) {
+            cursor = listByCursor(cursor).getNextCursor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponse<OrderResponse> offsetPage() {
+        return orderService.listOrders(orgId, null, null, null, page, PAGE_SIZE, SORT,
+                null, null, null, null, Set.of());
+    }
+
+    @Benchmark
+    public PagedResponse<OrderResponse> offsetPageWithItems() {
+        return orderService.listOrders(orgId, null, null, null, page, PAGE_SIZE, SORT,
+                null, null, null, null, Set.of("items"));
+    }
+
+    @Benchmark
+    public PagedResponse<OrderResponse> cursorPage() {
+        return listByCursor(cursor);
+    }
+
+    private PagedResponse<OrderResponse> listByCursor(String cursor) {
+        return orderService.listOrders(orgId, null, null, null, 0, PAGE_SIZE, SORT,
+                null, null, null, cursor, Set.of());
+    }
+
+    private OrderRequest order(String websiteId, int index) {
+        OrderItemRequest item = TestFixtures.item("LINE-" + index, "SKU-" + index % 100, "19.99");
+        item.setName("Item");
+
+        OrderRequest request = TestFixtures.order(orgId, websiteId, "EXT-" + index, "19.99");
+        request.setExternalOrderNumber("#" + index);
+        request.setCustomerEmail("customer" + index + "@example.com");
+        request.setItems(List.of(item));
+        return request;
+    }
+}
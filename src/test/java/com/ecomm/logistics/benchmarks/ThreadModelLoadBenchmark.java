@@ -0,0 +1,131 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.LogisticsApplication;
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time for a wave of N concurrent order ingests against the app on platform threads
+// (Tomcat's default 200-thread pool) versus the "virtual" profile. Clients are async
+// HttpClient requests, so the driver itself needs no threads per client. Needs the
+// virtual-threads Maven profile (Java 21) for the virtual runs to differ, and a
+// raised open-file limit for the 10k case. Against the default in-memory H2 a
+// request never blocks on I/O, so both models are bound by CPU and row locks and
+// the comparison says little; point spring.datasource.url at MySQL with -D so
+// requests wait on real network round-trips. Rejected (503) requests are reported
+// as the "rejected" secondary result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreadModelLoadBenchmark {
+
+    @Param({ "platform", "virtual" })
+    private String threadModel;
+
+    @Param({ "1000", "10000" })
+    private int clients;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI ordersUri;
+    private String orgId;
+    private String websiteId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] profiles = "virtual".equals(threadModel)
+                ? new String[] { "test", "virtual" }
+                : new String[] { "test" };
+        context = new SpringApplicationBuilder(LogisticsApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000")
+                .run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        ordersUri = URI.create("http://localhost:" + port + "/orders");
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        Store store = new TestFixtures(context).store("Load benchmark");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    // Summed per iteration by JMH and shown next to the wave time
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rejections {
+
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rejected = 0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentIngestWave(Rejections rejections) {
+        AtomicInteger rejected = new AtomicInteger();
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofString(orderJson(sequence.incrementAndGet())))
+                    .build();
+            requests[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        }
+                    });
+        }
+        CompletableFuture.allOf(requests).join();
+        rejections.rejected += rejected.get();
+    }
+
+    private String orderJson(long n) {
+        return "{\"orgId\":\"" + orgId + "\",\"websiteId\":\"" + websiteId + "\","
+                + "\"externalOrderId\":\"LOAD-" + n + "\",\"currency\":\"USD\",\"orderTotal\":19.99,"
+                + "\"items\":[{\"externalLineItemId\":\"L1\",\"sku\":\"SKU-1\",\"quantity\":1,\"price\":19.99}]}";
+    }
+}
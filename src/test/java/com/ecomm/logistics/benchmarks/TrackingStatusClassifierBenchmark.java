@@ -0,0 +1,102 @@
+package com.ecomm.logistics.benchmarks;
+
+import com.ecomm.logistics.models.Tracking.TrackingStatus;
+import com.ecomm.logistics.models.TrackingEvent.EventSource;
+import com.ecomm.logistics.services.TrackingStatusClassifier;
+import com.ecomm.logistics.utils.KeywordAutomaton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-event classification cost: the old toUpperCase().contains(...) chain, the
+// compiled automaton on its own, and the classifier with its per-code cache, over
+// a mix of UPS/FedEx single-letter codes, USPS/DHL phrases and Shopify statuses.
+// Run with -prof gc to compare allocation per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackingStatusClassifierBenchmark {
+
+    private static final String[][] CORPUS = {
+            { "UPS", "I" }, { "UPS", "D" }, { "UPS", "X" }, { "UPS", "M" }, { "UPS", "ORIGIN SCAN" },
+            { "FedEx", "IT" }, { "FedEx", "OD" }, { "FedEx", "DL" }, { "FedEx", "DE" }, { "FedEx", "AR" },
+            { "USPS", "Shipping Label Created, USPS Awaiting Item" }, { "USPS", "Arrived at USPS Regional Facility" },
+            { "USPS", "In Transit to Next Facility" }, { "USPS", "Out for Delivery" },
+            { "USPS", "Delivered, In/At Mailbox" }, { "USPS", "Delivery Attempted - No Access to Delivery Location" },
+            { "DHL", "pre-transit" }, { "DHL", "transit" }, { "DHL", "delivered" }, { "DHL", "failure" },
+            { "DHL", "DELIVERY_EXCEPTION" }, { "DHL", "Shipment picked up" },
+            { "Canada Post", "Item accepted at the Post Office" }, { "Canada Post", "Item out for delivery" }
+    };
+
+    private TrackingStatusClassifier classifier;
+    private KeywordAutomaton automaton;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new ResourcePropertySource("classpath:application.properties"));
+        classifier = new TrackingStatusClassifier(environment);
+
+        Map<String, Integer> keywords = new HashMap<>();
+        for (String keyword : new String[] { "TRANSIT", "SHIPPED", "ARRIVED", "ACCEPTED", "PICKED_UP" }) {
+            keywords.put(keyword, 2);
+        }
+        keywords.put("OUT_FOR_DELIVERY", 3);
+        keywords.put("DELIVERED", 4);
+        for (String keyword : new String[] { "EXCEPTION", "FAILURE", "ATTEMPTED" }) {
+            keywords.put(keyword, 5);
+        }
+        automaton = new KeywordAutomaton(keywords);
+    }
+
+    private String[] nextEvent() {
+        index = (index + 1) % CORPUS.length;
+        return CORPUS[index];
+    }
+
+    @Benchmark
+    public TrackingStatus containsChain() {
+        String code = nextEvent()[1].toUpperCase();
+        if (code.contains("DELIVERED")) {
+            return TrackingStatus.DELIVERED;
+        } else if (code.contains("OUT") || code.contains("DELIVERY")) {
+            return TrackingStatus.OUT_FOR_DELIVERY;
+        } else if (code.contains("TRANSIT") || code.contains("SHIPPED")) {
+            return TrackingStatus.IN_TRANSIT;
+        } else if (code.contains("EXCEPTION") || code.contains("FAIL")) {
+            return TrackingStatus.EXCEPTION;
+        } else if (code.contains("LABEL") || code.contains("PICKUP")) {
+            return TrackingStatus.LABEL_CREATED;
+        }
+        return TrackingStatus.UNKNOWN;
+    }
+
+    @Benchmark
+    public int automatonOnly() {
+        return automaton.match(nextEvent()[1]);
+    }
+
+    @Benchmark
+    public TrackingStatus classifierCached() {
+        String[] event = nextEvent();
+        return classifier.classify(event[0], EventSource.CARRIER, event[1]);
+    }
+}
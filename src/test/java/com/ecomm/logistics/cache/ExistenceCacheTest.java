@@ -0,0 +1,100 @@
+package com.ecomm.logistics.cache;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.repositories.OrganizationRepository;
+import com.ecomm.logistics.repositories.WebsiteRepository;
+import com.ecomm.logistics.services.OrderService;
+import com.ecomm.logistics.services.OrganizationService;
+import com.ecomm.logistics.services.WebsiteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExistenceCacheTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private ExistenceCache existenceCache;
+    @Autowired
+    private OrganizationService organizationService;
+    @Autowired
+    private WebsiteService websiteService;
+    @Autowired
+    private OrderService orderService;
+
+    private String orgId;
+    private String websiteId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Existence");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    @Test
+    void deletedWebsiteAndOrganizationStopResolving() {
+        orderService.createOrder(order("BEFORE-DELETE"));
+        assertThat(existenceCache.websiteExists(orgId, websiteId)).isTrue();
+        assertThat(existenceCache.organizationExists(orgId)).isTrue();
+
+        websiteService.deleteWebsite(orgId, websiteId);
+        assertThat(existenceCache.websiteExists(orgId, websiteId)).isFalse();
+        assertThatThrownBy(() -> orderService.createOrder(order("AFTER-WEBSITE-DELETE")))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        organizationService.deleteOrganization(orgId);
+        assertThat(existenceCache.organizationExists(orgId)).isFalse();
+    }
+
+    @Test
+    void evictionDuringALookupIsNotUndoneByIt() throws Exception {
+        OrganizationRepository organizationRepository = mock(OrganizationRepository.class);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The first read sees the organization and stalls until its delete has committed
+        when(organizationRepository.existsById("ORG1"))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return true;
+                })
+                .thenReturn(false);
+        ExistenceCache cache = new ExistenceCache(organizationRepository, mock(WebsiteRepository.class),
+                new SimpleMeterRegistry(), true, Duration.ofMinutes(5), 100);
+
+        CompletableFuture<Boolean> lookup = CompletableFuture.supplyAsync(() -> cache.organizationExists("ORG1"));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> eviction = CompletableFuture.runAsync(() -> cache.evictOrganization("ORG1"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(lookup.get(5, TimeUnit.SECONDS)).isTrue();
+        eviction.get(5, TimeUnit.SECONDS);
+        assertThat(cache.organizationExists("ORG1")).isFalse();
+    }
+
+    private OrderRequest order(String externalOrderId) {
+        return TestFixtures.order(orgId, websiteId, externalOrderId, "10.00");
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecomm.logistics.cache;
+
+import com.ecomm.logistics.repositories.TrackingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrackingNumberIndexTest {
+
+    @Test
+    void evictionDuringALookupIsNotUndoneByIt() throws Exception {
+        TrackingRepository trackingRepository = mock(TrackingRepository.class);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The first read sees the old tracking and stalls until the new one has committed
+        when(trackingRepository.findIdsByOrgIdAndTrackingNumber(any(), any(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of("TRK-OLD");
+                })
+                .thenReturn(List.of("TRK-NEW"));
+        TrackingNumberIndex index = new TrackingNumberIndex(trackingRepository, new SimpleMeterRegistry(),
+                Duration.ofHours(1), 100, 0);
+
+        CompletableFuture<String> lookup = CompletableFuture.supplyAsync(() -> index.resolve("ORG1", "1Z"));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> eviction = CompletableFuture.runAsync(() -> index.evict("ORG1", "1Z"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(lookup.get(5, TimeUnit.SECONDS)).isEqualTo("TRK-OLD");
+        eviction.get(5, TimeUnit.SECONDS);
+        assertThat(index.resolve("ORG1", "1Z")).isEqualTo("TRK-NEW");
+    }
+
+    @Test
+    void unknownNumbersAreNotCached() {
+        TrackingRepository trackingRepository = mock(TrackingRepository.class);
+        when(trackingRepository.findIdsByOrgIdAndTrackingNumber(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of("TRK-1"));
+        TrackingNumberIndex index = new TrackingNumberIndex(trackingRepository, new SimpleMeterRegistry(),
+                Duration.ofHours(1), 100, 0);
+
+        assertThat(index.resolve("ORG1", "1Z")).isNull();
+        assertThat(index.resolve("ORG1", "1Z")).isEqualTo("TRK-1");
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecomm.logistics.config;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.services.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InstrumentationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+
+    private String orgId;
+    private String websiteId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Instrumented");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    @Test
+    void countsCreatedAndRedeliveredOrders() {
+        double created = ingestCount("created");
+        double updated = ingestCount("updated");
+        double unchanged = ingestCount("unchanged");
+        long calls = invocations("OrderService", "createOrder");
+
+        OrderRequest request = TestFixtures.order(orgId, websiteId, "instrumented-1", "10.00");
+        orderService.createOrder(request);
+        orderService.createOrder(request);
+        request.setCustomerEmail("changed@example.com");
+        orderService.createOrder(request);
+
+        assertThat(ingestCount("created") - created).isEqualTo(1);
+        assertThat(ingestCount("unchanged") - unchanged).isEqualTo(1);
+        assertThat(ingestCount("updated") - updated).isEqualTo(1);
+        assertThat(invocations("OrderService", "createOrder") - calls).isEqualTo(3);
+        assertThat(invocations("OrderMapper", "toResponse")).isPositive();
+    }
+
+    @Test
+    void recordsStatementsPerRequest() throws Exception {
+        mockMvc.perform(get("/organizations/{id}", orgId)).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("http.server.requests.sql.statements")
+                .tag("uri", "/organizations/{id}")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void countsStatementsThatBypassHibernate() throws Exception {
+        mockMvc.perform(post("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orgId\":\"" + orgId + "\",\"websiteId\":\"" + websiteId
+                        + "\",\"externalOrderId\":\"instrumented-post\",\"orderTotal\":10.00}"))
+                .andExpect(status().isCreated());
+
+        DistributionSummary statements = meterRegistry.find("http.server.requests.sql.statements")
+                .tag("method", "POST")
+                .tag("uri", "/orders")
+                .summary();
+        assertThat(statements).isNotNull();
+        // Order upsert, locked id read and rollup increment through Hibernate, then the
+        // search index and outbox_events batches through JdbcTemplate
+        assertThat(statements.max()).isGreaterThanOrEqualTo(5);
+    }
+
+    private double ingestCount(String result) {
+        Counter counter = meterRegistry.find("orders.ingest").tag("result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private long invocations(String className, String method) {
+        Timer timer = meterRegistry.find(MethodTimingInterceptor.METRIC)
+                .tag("class", className)
+                .tag("method", method)
+                .tag("outcome", "success")
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,276 @@
+package com.ecomm.logistics.controllers;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.services.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.tomcat.TomcatConnectorCustomizer;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GET /changes/stream over a real socket. Requests go out as HTTP/1.0 so the body
+// is the bare event stream rather than chunks. The server's send buffer is pinned
+// small, so a client that stops reading blocks its stream within a few dozen events.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "logistics.outbox.relay.enabled=true",
+        "logistics.outbox.relay.poll-interval=50ms",
+        "logistics.outbox.relay.gap-timeout=1s",
+        "logistics.outbox.write-timeout=500ms",
+        "logistics.outbox.stream.batch-size=10",
+        "logistics.outbox.stream.heartbeat-interval=200ms",
+        "logistics.outbox.stream.max-subscribers=3"
+})
+@ActiveProfiles("test")
+class ChangeEventStreamTest {
+
+    private static final int MAX_SUBSCRIBERS = 3;
+    private static final int BACKLOG = 300;
+
+    @TestConfiguration
+    static class SmallSendBuffer {
+
+        @Bean
+        TomcatConnectorCustomizer smallSendBuffer() {
+            return connector -> connector.setProperty("socket.txBufSize", "4096");
+        }
+    }
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private WebServerApplicationContext webServerContext;
+
+    private String orgId;
+    private String websiteId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        Store store = new TestFixtures(context).store("Change stream");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+
+        // Streams closed by an earlier test give their permits back on the next write
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (openStreams() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(openStreams()).isZero();
+    }
+
+    @Test
+    void streamsEventsLiveAndResumesFromLastEventId() throws Exception {
+        String first = createOrder("STREAM-1");
+        String second = createOrder("STREAM-2");
+
+        String secondOffset;
+        try (SseClient client = SseClient.open(port(), "/changes/stream?orgId=" + orgId + "&after=0", null, 0)) {
+            assertThat(client.status).isEqualTo(200);
+            Message one = client.nextEvent();
+            Message two = client.nextEvent();
+            assertThat(one.name()).isEqualTo("ORDER");
+            assertThat(one.data()).contains(first, "\"changeType\":\"CREATED\"");
+            assertThat(two.data()).contains(second);
+            assertThat(Long.parseLong(two.id())).isGreaterThan(Long.parseLong(one.id()));
+            secondOffset = two.id();
+
+            String live = createOrder("STREAM-LIVE");
+            assertThat(client.nextEvent().data()).contains(live);
+        }
+
+        // The header wins over after, as it would for a reconnecting EventSource
+        try (SseClient client = SseClient.open(port(), "/changes/stream?orgId=" + orgId + "&after=0",
+                secondOffset, 0)) {
+            assertThat(client.nextEvent().data()).contains("STREAM-LIVE");
+        }
+    }
+
+    @Test
+    void idleStreamSendsHeartbeats() throws Exception {
+        try (SseClient client = SseClient.open(port(), "/changes/stream?orgId=" + orgId, null, 0)) {
+            assertThat(client.status).isEqualTo(200);
+            assertThat(client.next().comment()).isEqualTo("heartbeat");
+            assertThat(client.next().comment()).isEqualTo("heartbeat");
+        }
+    }
+
+    @Test
+    void subscribersPastTheCapAreTurnedAway() throws Exception {
+        List<SseClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+                clients.add(SseClient.open(port(), "/changes/stream?orgId=" + orgId, null, 0));
+            }
+            assertThat(clients).allSatisfy(client -> assertThat(client.status).isEqualTo(200));
+            try (SseClient rejected = SseClient.open(port(), "/changes/stream?orgId=" + orgId, null, 0)) {
+                assertThat(rejected.status).isEqualTo(503);
+            }
+        } finally {
+            for (SseClient client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    void slowReaderHoldsBackOnlyItsOwnStream() throws Exception {
+        double deliveredBefore = delivered();
+        try (SseClient slow = SseClient.open(port(), "/changes/stream?orgId=" + orgId + "&after=0", null, 1024)) {
+            List<String> orderIds = new ArrayList<>();
+            for (int i = 0; i < BACKLOG; i++) {
+                orderIds.add(createOrder("BACKLOG-" + i));
+            }
+
+            List<String> fastIds = new ArrayList<>();
+            try (SseClient fast = SseClient.open(port(), "/changes/stream?orgId=" + orgId + "&after=0", null, 0)) {
+                for (int i = 0; i < BACKLOG; i++) {
+                    fastIds.add(fast.nextEvent().id());
+                }
+            }
+            // The stalled stream stopped reading once the socket filled, rather than
+            // buffering the backlog in memory
+            Thread.sleep(200);
+            assertThat(delivered() - deliveredBefore).isLessThan(2 * BACKLOG);
+
+            List<String> slowIds = new ArrayList<>();
+            List<String> slowData = new ArrayList<>();
+            for (int i = 0; i < BACKLOG; i++) {
+                Message event = slow.nextEvent();
+                slowIds.add(event.id());
+                slowData.add(event.data());
+            }
+            assertThat(slowIds).isEqualTo(fastIds);
+            for (int i = 0; i < BACKLOG; i++) {
+                assertThat(slowData.get(i)).contains(orderIds.get(i));
+            }
+        }
+    }
+
+    private String createOrder(String externalOrderId) {
+        return orderService.createOrder(TestFixtures.order(orgId, websiteId, externalOrderId, "12.00")).getId();
+    }
+
+    private int port() {
+        return webServerContext.getWebServer().getPort();
+    }
+
+    private double openStreams() {
+        return meterRegistry.get("outbox.subscribers").tag("mode", "stream").gauge().value();
+    }
+
+    private double delivered() {
+        return meterRegistry.get("outbox.events.delivered").tag("mode", "stream").counter().count();
+    }
+
+    private record Message(String id, String name, String data, String comment) {
+    }
+
+    private static final class SseClient implements Closeable {
+
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final int status;
+
+        private SseClient(Socket socket, BufferedReader reader, int status) {
+            this.socket = socket;
+            this.reader = reader;
+            this.status = status;
+        }
+
+        // A receive buffer size of 0 keeps the platform default
+        static SseClient open(int port, String path, String lastEventId, int receiveBufferSize)
+                throws IOException {
+            Socket socket = new Socket();
+            if (receiveBufferSize > 0) {
+                socket.setReceiveBufferSize(receiveBufferSize);
+            }
+            socket.setSoTimeout(10_000);
+            socket.connect(new InetSocketAddress("localhost", port));
+            StringBuilder request = new StringBuilder("GET ").append(path).append(" HTTP/1.0\r\n")
+                    .append("Host: localhost\r\n")
+                    .append("Accept: text/event-stream\r\n");
+            if (lastEventId != null) {
+                request.append("Last-Event-ID: ").append(lastEventId).append("\r\n");
+            }
+            OutputStream out = socket.getOutputStream();
+            out.write(request.append("\r\n").toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String statusLine = reader.readLine();
+            if (statusLine == null) {
+                throw new EOFException("No response");
+            }
+            int status = Integer.parseInt(statusLine.split(" ")[1]);
+            String header;
+            while ((header = reader.readLine()) != null && !header.isEmpty()) {
+                // Headers are not needed
+            }
+            return new SseClient(socket, reader, status);
+        }
+
+        // The next event or comment, whichever comes first
+        Message next() throws IOException {
+            String id = null;
+            String name = null;
+            String comment = null;
+            StringBuilder data = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    if (id != null || name != null || comment != null || !data.isEmpty()) {
+                        return new Message(id, name, data.toString(), comment);
+                    }
+                } else if (line.startsWith(":")) {
+                    comment = line.substring(1);
+                } else if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring(5));
+                }
+            }
+            throw new EOFException("Stream ended");
+        }
+
+        Message nextEvent() throws IOException {
+            Message message = next();
+            while (message.comment() != null && message.id() == null) {
+                message = next();
+            }
+            return message;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
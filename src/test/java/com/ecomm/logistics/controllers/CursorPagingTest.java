@@ -0,0 +1,134 @@
+package com.ecomm.logistics.controllers;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.services.OrderService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Walks the order list page by page through nextCursor. Most orders share a
+// createdAt, so only the id tie-breaker keeps pages from skipping or repeating rows.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CursorPagingTest {
+
+    private static final int ORDERS = 17;
+    private static final int PAGE_SIZE = 4;
+    private static final LocalDateTime SHARED = LocalDateTime.of(2026, 2, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+
+    private String orgId;
+    private final List<Map.Entry<LocalDateTime, String>> orders = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        Store store = new TestFixtures(context).store("Cursor paging");
+        orgId = store.orgId();
+
+        for (int i = 0; i < ORDERS; i++) {
+            String id = orderService.createOrder(
+                    TestFixtures.order(orgId, store.websiteId(), "CURSOR-" + i, "10.00")).getId();
+
+            // A run of equal timestamps straddling several page boundaries, with
+            // distinct ones before and after it
+            LocalDateTime createdAt = i < 3 ? SHARED.minusHours(3 - i)
+                    : i < ORDERS - 3 ? SHARED : SHARED.plusHours(i);
+            jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", createdAt, id);
+            orders.add(Map.entry(createdAt, id));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "asc", "desc" })
+    void cursorVisitsEveryOrderOnceInSortOrder(String direction) throws Exception {
+        Comparator<Map.Entry<LocalDateTime, String>> order = Map.Entry.<LocalDateTime, String>comparingByKey()
+                .thenComparing(Map.Entry.comparingByValue());
+        List<String> expected = orders.stream()
+                .sorted(direction.equals("asc") ? order : order.reversed())
+                .map(Map.Entry::getValue)
+                .toList();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            JsonNode page = page(direction, cursor);
+            for (JsonNode row : page.get("data")) {
+                seen.add(row.get("id").asString());
+            }
+            assertThat(page.get("data").size()).isLessThanOrEqualTo(PAGE_SIZE);
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asString();
+            assertThat(page.get("hasNext").asBoolean()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null && pages <= ORDERS);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo((ORDERS + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    @Test
+    void cursorFromTheOtherDirectionIsRejected() throws Exception {
+        String ascending = page("asc", "").get("nextCursor").asString();
+
+        mockMvc.perform(get("/orders").param("orgId", orgId).param("size", String.valueOf(PAGE_SIZE))
+                        .param("sort", "createdAt,desc").param("cursor", ascending))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "not base64!", "Y3JlYXRlZEF0", "createdAt|ASC|yesterday|ID1",
+            "updatedAt|ASC|2026-02-01T12:00|ID1" })
+    void tamperedCursorIsRejected(String cursor) throws Exception {
+        String encoded = cursor.contains("|")
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8))
+                : cursor;
+
+        mockMvc.perform(get("/orders").param("orgId", orgId).param("size", String.valueOf(PAGE_SIZE))
+                        .param("sort", "createdAt,asc").param("cursor", encoded))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode page(String direction, String cursor) throws Exception {
+        String body = mockMvc.perform(get("/orders").param("orgId", orgId).param("size", String.valueOf(PAGE_SIZE))
+                        .param("sort", "createdAt," + direction).param("cursor", cursor).param("include", "none"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return jsonMapper.readTree(body);
+    }
+}
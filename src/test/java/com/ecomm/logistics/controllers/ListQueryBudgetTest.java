@@ -0,0 +1,146 @@
+package com.ecomm.logistics.controllers;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.services.FulfillmentService;
+import com.ecomm.logistics.services.OrderService;
+import com.ecomm.logistics.services.TrackingEventService;
+import com.ecomm.logistics.services.TrackingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Counts the SQL statements each list request prepares and fails when a page
+// goes over a fixed budget, which is what an N+1 on a child collection does.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryBudgetTest {
+
+    private static final int PAGE_SIZE = 40;
+    // Page query, count query and one batched load of the children. The organization
+    // check is already cached by the order inserts above.
+    private static final long LIST_BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private TrackingService trackingService;
+    @Autowired
+    private TrackingEventService eventService;
+
+    private String orgId;
+    private String fulfillmentId;
+
+    @BeforeAll
+    void seed() {
+        Store store = new TestFixtures(context).store("Query budget");
+        orgId = store.orgId();
+
+        String orderId = null;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            orderId = orderService.createOrder(order(store.websiteId(), i)).getId();
+        }
+
+        FulfillmentRequest fulfillment = new FulfillmentRequest();
+        fulfillment.setExternalFulfillmentId("F-1");
+        fulfillmentId = fulfillmentService.createFulfillment(orderId, fulfillment).getId();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            TrackingRequest tracking = new TrackingRequest();
+            tracking.setTrackingNumber("1Z" + i);
+            tracking.setCarrier("UPS");
+            String trackingId = trackingService.createTracking(fulfillmentId, tracking).getId();
+            for (int e = 0; e < 2; e++) {
+                eventService.ingestEvent(orgId, trackingId,
+                        TestFixtures.event("IN_TRANSIT", LocalDateTime.of(2026, 1, 1, 0, 0).plusHours(e)));
+            }
+        }
+    }
+
+    @Test
+    void orderListLoadsItemsInOneBatch() throws Exception {
+        long statements = count(get("/orders").param("orgId", orgId).param("size", String.valueOf(PAGE_SIZE)));
+
+        assertThat(statements).isLessThanOrEqualTo(LIST_BUDGET);
+    }
+
+    @Test
+    void orderListWithoutItemsSkipsTheChildQuery() throws Exception {
+        long withItems = count(get("/orders").param("orgId", orgId).param("size", String.valueOf(PAGE_SIZE)));
+        long withoutItems = count(get("/orders").param("orgId", orgId).param("size", String.valueOf(PAGE_SIZE))
+                .param("include", "none"));
+
+        assertThat(withoutItems).isLessThan(withItems);
+        mockMvc.perform(get("/orders").param("orgId", orgId).param("include", "none"))
+                .andExpect(jsonPath("$.data[0].items").doesNotExist());
+    }
+
+    @Test
+    void trackingListLoadsEventsInOneBatch() throws Exception {
+        long statements = count(get("/fulfillments/{fulfillmentId}/tracking", fulfillmentId)
+                .param("size", String.valueOf(PAGE_SIZE)));
+
+        assertThat(statements).isLessThanOrEqualTo(LIST_BUDGET);
+    }
+
+    @Test
+    void cursorPageLoadsEventsInOneBatch() throws Exception {
+        long statements = count(get("/fulfillments/{fulfillmentId}/tracking", fulfillmentId)
+                .param("size", String.valueOf(PAGE_SIZE)).param("cursor", ""));
+
+        // No count query in cursor mode
+        assertThat(statements).isLessThanOrEqualTo(LIST_BUDGET - 1);
+    }
+
+    @Test
+    void unknownIncludeIsRejected() throws Exception {
+        mockMvc.perform(get("/orders").param("orgId", orgId).param("include", "fulfillments"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long count(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private OrderRequest order(String websiteId, int index) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, "EXT-" + index, "30.00");
+        OrderItemRequest second = TestFixtures.item("L2", "SKU-2", "10.00");
+        second.setQuantity(2);
+        request.setItems(List.of(TestFixtures.item("L1", "SKU-1", "10.00"), second));
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecomm.logistics.load;
+
+import java.util.Arrays;
+
+// Raw latencies of one operation on one worker. Keeping every sample (8 bytes each)
+// gives exact percentiles for runs of a few million requests without a histogram
+// library; recorders of the same operation are merged once the run is over.
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    long count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    void addAll(LatencyRecorder other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, size + other.size));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    // Nearest-rank percentiles in nanoseconds; sorts the samples in place
+    long[] percentiles(double... quantiles) {
+        Arrays.sort(samples, 0, size);
+        long[] values = new long[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            values[i] = size == 0 ? 0 : samples[Math.max(0, (int) Math.ceil(quantiles[i] * size) - 1)];
+        }
+        return values;
+    }
+
+    long max() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,284 @@
+package com.ecomm.logistics.load;
+
+import com.ecomm.logistics.LogisticsApplication;
+import com.ecomm.logistics.load.SyntheticDataGenerator.Config;
+import com.ecomm.logistics.load.SyntheticDataGenerator.Shipment;
+import com.ecomm.logistics.load.SyntheticDataGenerator.Tenant;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load test on one machine: starts the app on a random port against the
+// in-memory H2 "test" profile (or whatever -Dspring.datasource.url points at), fills
+// it with SyntheticDataGenerator, then has load.threads workers replay a weighted mix
+// of the order, fulfillment and tracking endpoints. Tenants are picked in proportion
+// to their size, so the large ones are as hot as they are big. After the warm-up,
+// each operation reports its throughput and p50/p99/p999/max latency.
+//
+//   mvn -Pload-test verify -Dload.args="-Xmx4g -Dload.orders=200000 -Dload.threads=64 -Dload.duration=120"
+//
+// Data: load.organizations, load.orders, load.max-skew, load.max-items,
+// load.fulfilled-ratio, load.max-events, load.generator-threads, load.seed.
+// Run: load.threads, load.warmup and load.duration (seconds), load.mix.<OPERATION>.
+public class LoadDriver {
+
+    enum Operation {
+        CREATE_ORDER(15), GET_ORDER(20), LIST_ORDERS(15), SEARCH_ORDERS(5),
+        LIST_FULFILLMENTS(10), GET_FULFILLMENT(10), LIST_TRACKING(5),
+        INGEST_EVENT(15), INGEST_EVENT_BATCH(5);
+
+        private final int defaultWeight;
+
+        Operation(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+
+        // -Dload.mix.INGEST_EVENT=40 changes one weight, 0 leaves the operation out
+        int weight() {
+            return Integer.getInteger("load.mix." + name(), defaultWeight);
+        }
+
+        boolean needsShipment() {
+            return ordinal() >= LIST_FULFILLMENTS.ordinal();
+        }
+    }
+
+    private static final double[] QUANTILES = { 0.5, 0.99, 0.999 };
+    private static final int EVENT_BATCH_SIZE = 10;
+    // Share of event posts that replay an already stored event
+    private static final int DUPLICATE_PERCENT = 20;
+    private static final LocalDateTime REPLAYED_EVENT_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final HttpClient httpClient;
+    private final String baseUri;
+    private final List<Tenant> tenants;
+    private final long[] cumulativeSizes;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadDriver(String baseUri, List<Tenant> tenants) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.baseUri = baseUri;
+        this.tenants = tenants;
+        this.cumulativeSizes = new long[tenants.size()];
+        long total = 0;
+        for (int i = 0; i < tenants.size(); i++) {
+            total += tenants.get(i).orderIds().size();
+            cumulativeSizes[i] = total;
+        }
+        this.operations = Operation.values();
+        this.cumulativeWeights = new int[operations.length];
+        int weights = 0;
+        for (int i = 0; i < operations.length; i++) {
+            weights += operations[i].weight();
+            cumulativeWeights[i] = weights;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        int threads = Integer.getInteger("load.threads", 32);
+        Duration warmUp = Duration.ofSeconds(Long.getLong("load.warmup", 15));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LogisticsApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run(args)) {
+            long started = System.nanoTime();
+            List<Tenant> tenants = new SyntheticDataGenerator(context).generate(config);
+            System.out.printf("Generated %d tenants, %d orders (largest %d, smallest %d) in %ds%n",
+                    tenants.size(),
+                    tenants.stream().mapToInt(tenant -> tenant.orderIds().size()).sum(),
+                    tenants.get(0).orderIds().size(),
+                    tenants.get(tenants.size() - 1).orderIds().size(),
+                    Duration.ofNanos(System.nanoTime() - started).toSeconds());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver("http://localhost:" + port, tenants);
+            driver.run(threads, warmUp, config.seed());
+            LatencyRecorder[] results = driver.run(threads, duration, config.seed() + 1);
+            report(results, duration);
+        }
+    }
+
+    // One recorder per operation, merged over the workers
+    LatencyRecorder[] run(int threads, Duration duration, long seed) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<LatencyRecorder[]>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                SplittableRandom random = seeds.split();
+                workers.add(executor.submit(() -> work(random, deadline)));
+            }
+            LatencyRecorder[] merged = newRecorders();
+            for (Future<LatencyRecorder[]> worker : workers) {
+                LatencyRecorder[] recorders = worker.get();
+                for (int i = 0; i < merged.length; i++) {
+                    merged[i].addAll(recorders[i]);
+                }
+            }
+            return merged;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private LatencyRecorder[] work(SplittableRandom random, long deadline) {
+        LatencyRecorder[] recorders = newRecorders();
+        while (System.nanoTime() < deadline) {
+            Tenant tenant = pickTenant(random);
+            Operation operation = pickOperation(random);
+            if (operation.needsShipment() && tenant.shipments().isEmpty()) {
+                operation = Operation.GET_ORDER;
+            }
+            HttpRequest request = request(operation, tenant, random);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                long elapsed = System.nanoTime() - start;
+                if (response.statusCode() >= 400) {
+                    recorders[operation.ordinal()].error();
+                } else {
+                    recorders[operation.ordinal()].record(elapsed);
+                }
+            } catch (Exception e) {
+                recorders[operation.ordinal()].error();
+            }
+        }
+        return recorders;
+    }
+
+    private HttpRequest request(Operation operation, Tenant tenant, SplittableRandom random) {
+        List<Shipment> shipments = tenant.shipments();
+        Shipment shipment = operation.needsShipment() ? shipments.get(random.nextInt(shipments.size())) : null;
+        String orderId = tenant.orderIds().get(random.nextInt(tenant.orderIds().size()));
+        return switch (operation) {
+            case CREATE_ORDER -> post("/orders", orderJson(tenant, random));
+            case GET_ORDER -> get("/orders/" + orderId);
+            case LIST_ORDERS -> get("/orders?orgId=" + tenant.orgId() + "&size=50&page=" + random.nextInt(5));
+            case SEARCH_ORDERS -> get("/orders/search?orgId=" + tenant.orgId()
+                    + "&customerEmail=customer" + random.nextInt(100) + "%40");
+            case LIST_FULFILLMENTS -> get("/orders/" + shipment.orderId() + "/fulfillments");
+            case GET_FULFILLMENT -> get("/orders/" + shipment.orderId() + "/fulfillments/" + shipment.fulfillmentId());
+            case LIST_TRACKING -> get("/fulfillments/" + shipment.fulfillmentId() + "/tracking");
+            case INGEST_EVENT -> post(eventsPath(shipment), eventJson(random));
+            case INGEST_EVENT_BATCH -> {
+                StringBuilder batch = new StringBuilder("[");
+                for (int i = 0; i < EVENT_BATCH_SIZE; i++) {
+                    batch.append(i > 0 ? "," : "").append(eventJson(random));
+                }
+                yield post(eventsPath(shipment) + "/batch", batch.append(']').toString());
+            }
+        };
+    }
+
+    // New orders, plus a redelivery of a generated one every fifth call
+    private String orderJson(Tenant tenant, SplittableRandom random) {
+        String externalOrderId = random.nextInt(5) == 0
+                ? tenant.index() + "-" + random.nextInt(tenant.orderIds().size())
+                : "load-" + sequence.incrementAndGet();
+        return "{\"orgId\":\"" + tenant.orgId() + "\",\"websiteId\":\"" + tenant.websiteId() + "\","
+                + "\"externalOrderId\":\"" + externalOrderId + "\",\"currency\":\"USD\",\"orderTotal\":39.98,"
+                + "\"customerEmail\":\"customer" + random.nextInt(1000) + "@load.example\","
+                + "\"items\":[{\"externalLineItemId\":\"L0\",\"sku\":\"SKU-1\",\"quantity\":2,\"price\":19.99}]}";
+    }
+
+    private String eventJson(SplittableRandom random) {
+        LocalDateTime eventTime = random.nextInt(100) < DUPLICATE_PERCENT
+                ? REPLAYED_EVENT_TIME
+                : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).plusNanos(sequence.incrementAndGet() * 1000);
+        return "{\"eventTime\":\"" + eventTime + "\",\"eventCode\":\"IT\",\"eventCity\":\"Memphis\","
+                + "\"eventCountry\":\"US\",\"source\":\"CARRIER\"}";
+    }
+
+    private static String eventsPath(Shipment shipment) {
+        return "/fulfillments/" + shipment.fulfillmentId() + "/tracking/" + shipment.trackingId() + "/events";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private Operation pickOperation(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private Tenant pickTenant(SplittableRandom random) {
+        long value = random.nextLong(cumulativeSizes[cumulativeSizes.length - 1]);
+        int low = 0;
+        int high = cumulativeSizes.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (value < cumulativeSizes[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return tenants.get(low);
+    }
+
+    private static LatencyRecorder[] newRecorders() {
+        LatencyRecorder[] recorders = new LatencyRecorder[Operation.values().length];
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new LatencyRecorder();
+        }
+        return recorders;
+    }
+
+    private static void report(LatencyRecorder[] results, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        LatencyRecorder total = new LatencyRecorder();
+        System.out.printf("%-20s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder recorder = results[operation.ordinal()];
+            total.addAll(recorder);
+            print(operation.name(), recorder, seconds);
+        }
+        print("TOTAL", total, seconds);
+    }
+
+    private static void print(String name, LatencyRecorder recorder, double seconds) {
+        long[] percentiles = recorder.percentiles(QUANTILES);
+        System.out.printf("%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, recorder.count(), recorder.errors(), recorder.count() / seconds,
+                percentiles[0] / 1e6, percentiles[1] / 1e6, percentiles[2] / 1e6, recorder.max() / 1e6);
+    }
+}
@@ -0,0 +1,213 @@
+package com.ecomm.logistics.load;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrganizationRequest;
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.dtos.WebsiteRequest;
+import com.ecomm.logistics.models.Fulfillment.FulfillmentStatus;
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Website.Platform;
+import com.ecomm.logistics.services.FulfillmentService;
+import com.ecomm.logistics.services.OrderService;
+import com.ecomm.logistics.services.OrganizationService;
+import com.ecomm.logistics.services.TrackingEventService;
+import com.ecomm.logistics.services.TrackingService;
+import com.ecomm.logistics.services.WebsiteService;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Populates organizations, websites, orders with items, fulfillments, trackings and
+// events through the service layer, so the search index, rollups and caches end up
+// as they would in production. Orders are spread over the organizations with a
+// power law whose exponent makes the largest tenant maxSkew times the smallest.
+// Each organization is generated by one thread from its own seed, so a run with
+// the same config produces the same shape.
+public class SyntheticDataGenerator {
+
+    private static final String[] CARRIERS = { "UPS", "FedEx", "USPS", "DHL" };
+    private static final String[] EVENT_CODES = { "M", "P", "I", "IT", "AR", "DP", "OD", "D", "DL" };
+
+    public record Config(int organizations, int orders, double maxSkew, int maxItemsPerOrder,
+            double fulfilledRatio, int maxEventsPerTracking, int threads, long seed) {
+
+        public static Config fromSystemProperties() {
+            return new Config(
+                    Integer.getInteger("load.organizations", 50),
+                    Integer.getInteger("load.orders", 50_000),
+                    Double.parseDouble(System.getProperty("load.max-skew", "1000")),
+                    Integer.getInteger("load.max-items", 5),
+                    Double.parseDouble(System.getProperty("load.fulfilled-ratio", "0.7")),
+                    Integer.getInteger("load.max-events", 6),
+                    Integer.getInteger("load.generator-threads", Runtime.getRuntime().availableProcessors()),
+                    Long.getLong("load.seed", 42));
+        }
+    }
+
+    public record Shipment(String orderId, String fulfillmentId, String trackingId) {
+    }
+
+    public record Tenant(int index, String orgId, String websiteId, List<String> orderIds, List<Shipment> shipments) {
+    }
+
+    private final OrganizationService organizationService;
+    private final WebsiteService websiteService;
+    private final OrderService orderService;
+    private final FulfillmentService fulfillmentService;
+    private final TrackingService trackingService;
+    private final TrackingEventService eventService;
+    private final AtomicLong trackingNumbers = new AtomicLong();
+
+    public SyntheticDataGenerator(ApplicationContext context) {
+        this.organizationService = context.getBean(OrganizationService.class);
+        this.websiteService = context.getBean(WebsiteService.class);
+        this.orderService = context.getBean(OrderService.class);
+        this.fulfillmentService = context.getBean(FulfillmentService.class);
+        this.trackingService = context.getBean(TrackingService.class);
+        this.eventService = context.getBean(TrackingEventService.class);
+    }
+
+    // Tenants come back largest first
+    public List<Tenant> generate(Config config) throws Exception {
+        int[] sizes = tenantSizes(config.organizations(), config.orders(), config.maxSkew());
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads());
+        try {
+            List<Future<Tenant>> futures = new ArrayList<>(sizes.length);
+            for (int i = 0; i < sizes.length; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> tenant(index, sizes[index], config)));
+            }
+            List<Tenant> tenants = new ArrayList<>(sizes.length);
+            for (Future<Tenant> future : futures) {
+                tenants.add(future.get());
+            }
+            return tenants;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Weight (i + 1)^-s with s = ln(maxSkew) / ln(n), so tenant 0 is maxSkew times tenant n - 1
+    static int[] tenantSizes(int organizations, int orders, double maxSkew) {
+        double exponent = organizations > 1 ? Math.log(maxSkew) / Math.log(organizations) : 0;
+        double[] weights = new double[organizations];
+        double total = 0;
+        for (int i = 0; i < organizations; i++) {
+            weights[i] = Math.pow(i + 1, -exponent);
+            total += weights[i];
+        }
+        int[] sizes = new int[organizations];
+        for (int i = 0; i < organizations; i++) {
+            sizes[i] = (int) Math.max(1, Math.round(orders * weights[i] / total));
+        }
+        return sizes;
+    }
+
+    private Tenant tenant(int index, int orders, Config config) {
+        SplittableRandom random = new SplittableRandom(config.seed() + index);
+
+        OrganizationRequest organization = new OrganizationRequest();
+        organization.setName("Load tenant " + index);
+        organization.setExternalId("load-tenant-" + index + "-" + config.seed());
+        String orgId = organizationService.createOrganization(organization).getId();
+
+        WebsiteRequest website = new WebsiteRequest();
+        website.setCode("store-" + index);
+        website.setName("Load store " + index);
+        website.setDomain("store-" + index + ".example.com");
+        website.setPlatform(Platform.SHOPIFY);
+        String websiteId = websiteService.createWebsite(orgId, website).getId();
+
+        List<String> orderIds = new ArrayList<>(orders);
+        List<Shipment> shipments = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(90);
+        for (int n = 0; n < orders; n++) {
+            LocalDateTime placedAt = start.plusSeconds(random.nextLong(90L * 24 * 3600));
+            String orderId = orderService.createOrder(order(orgId, websiteId, index, n, placedAt, random, config))
+                    .getId();
+            orderIds.add(orderId);
+            if (random.nextDouble() < config.fulfilledRatio()) {
+                shipments.add(ship(orgId, orderId, placedAt, random, config));
+            }
+        }
+        return new Tenant(index, orgId, websiteId, Collections.unmodifiableList(orderIds),
+                Collections.unmodifiableList(shipments));
+    }
+
+    private OrderRequest order(String orgId, String websiteId, int tenant, int n, LocalDateTime placedAt,
+            SplittableRandom random, Config config) {
+        int itemCount = 1 + random.nextInt(config.maxItemsPerOrder());
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int line = 0; line < itemCount; line++) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setExternalLineItemId("L" + line);
+            item.setSku("SKU-" + random.nextInt(500));
+            item.setName("Product " + line);
+            item.setQuantity(1 + random.nextInt(3));
+            item.setPrice(BigDecimal.valueOf(100 + random.nextInt(9900), 2));
+            total = total.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            items.add(item);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setOrgId(orgId);
+        request.setWebsiteId(websiteId);
+        request.setExternalOrderId(tenant + "-" + n);
+        request.setExternalOrderNumber("#" + (1000 + n));
+        request.setCustomerEmail("customer" + random.nextInt(Math.max(1, n / 3 + 1)) + "@tenant" + tenant + ".example");
+        request.setFinancialStatus(random.nextInt(10) == 0 ? FinancialStatus.PENDING : FinancialStatus.PAID);
+        request.setOrderTotal(total);
+        request.setCurrency("USD");
+        request.setOrderCreatedAt(placedAt);
+        request.setItems(items);
+        return request;
+    }
+
+    private Shipment ship(String orgId, String orderId, LocalDateTime placedAt, SplittableRandom random, Config config) {
+        String carrier = CARRIERS[random.nextInt(CARRIERS.length)];
+        LocalDateTime shippedAt = placedAt.plusHours(1 + random.nextInt(48));
+
+        FulfillmentRequest fulfillment = new FulfillmentRequest();
+        fulfillment.setExternalFulfillmentId("F-" + orderId);
+        fulfillment.setStatus(FulfillmentStatus.SHIPPED);
+        fulfillment.setCarrier(carrier);
+        fulfillment.setServiceLevel("GROUND");
+        fulfillment.setShippedAt(shippedAt);
+        String fulfillmentId = fulfillmentService.createFulfillment(orderId, fulfillment).getId();
+
+        TrackingRequest tracking = new TrackingRequest();
+        tracking.setTrackingNumber(String.format("1Z%016d", trackingNumbers.incrementAndGet()));
+        tracking.setCarrier(carrier);
+        tracking.setPrimary(true);
+        String trackingId = trackingService.createTracking(fulfillmentId, tracking).getId();
+
+        int eventCount = 1 + random.nextInt(config.maxEventsPerTracking());
+        List<TrackingEventRequest> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(event(EVENT_CODES[Math.min(i, EVENT_CODES.length - 1)], shippedAt.plusHours(6L * i)));
+        }
+        eventService.ingestEvents(orgId, trackingId, events);
+        return new Shipment(orderId, fulfillmentId, trackingId);
+    }
+
+    static TrackingEventRequest event(String code, LocalDateTime eventTime) {
+        TrackingEventRequest event = TestFixtures.event(code, eventTime);
+        event.setEventCity("Memphis");
+        event.setEventCountry("US");
+        return event;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecomm.logistics.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SyntheticDataGeneratorTest {
+
+    @Test
+    void largestTenantIsMaxSkewTimesTheSmallest() {
+        int[] sizes = SyntheticDataGenerator.tenantSizes(50, 500_000, 1000);
+
+        assertThat((double) sizes[0] / sizes[sizes.length - 1]).isCloseTo(1000, within(20.0));
+        assertThat(Arrays.stream(sizes).sum()).isCloseTo(500_000, within(50));
+        for (int i = 1; i < sizes.length; i++) {
+            assertThat(sizes[i]).isLessThanOrEqualTo(sizes[i - 1]);
+        }
+    }
+
+    @Test
+    void everyTenantGetsAnOrder() {
+        int[] sizes = SyntheticDataGenerator.tenantSizes(20, 100, 1000);
+
+        assertThat(Arrays.stream(sizes).min().getAsInt()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecomm.logistics.mappers;
+
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Order.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderMapperTest {
+
+    private final OrderMapper mapper = new OrderMapper();
+
+    @Test
+    void mergeSkipsNullFields() {
+        Order order = new Order();
+        order.setCustomerEmail("before@example.com");
+        order.setOrderTotal(new BigDecimal("10.00"));
+        order.setStatus(OrderStatus.CREATED);
+
+        OrderRequest request = new OrderRequest();
+        request.setFinancialStatus(FinancialStatus.PAID);
+        request.setOrderTotal(new BigDecimal("12.50"));
+        mapper.merge(request, order);
+
+        assertThat(order.getCustomerEmail()).isEqualTo("before@example.com");
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(order.getFinancialStatus()).isEqualTo(FinancialStatus.PAID);
+        assertThat(order.getOrderTotal()).isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void toEntityAndBackKeepsItems() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setExternalLineItemId("line-1");
+        item.setSku("SKU-1");
+        item.setQuantity(2);
+        OrderRequest request = new OrderRequest();
+        request.setExternalOrderId("1001");
+        request.setItems(List.of(item));
+
+        OrderResponse response = mapper.toResponse(mapper.toEntity(request));
+
+        assertThat(response.getExternalOrderId()).isEqualTo("1001");
+        assertThat(response.getItems()).singleElement()
+                .satisfies(i -> assertThat(i.getSku()).isEqualTo("SKU-1"));
+    }
+}
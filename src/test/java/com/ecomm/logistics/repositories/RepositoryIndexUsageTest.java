@@ -0,0 +1,202 @@
+package com.ecomm.logistics.repositories;
+
+import com.ecomm.logistics.models.Organization.OrgStatus;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.models.Website.Platform;
+import com.ecomm.logistics.models.Website.WebsiteStatus;
+import com.ecomm.logistics.services.FulfillmentService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls each repository finder against the migrated H2 schema, captures the SQL
+// Hibernate generated for it and fails if EXPLAIN shows a table scan. Writes and the
+// inherited findAll are left out.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.ecomm.logistics.repositories.RepositoryIndexUsageTest$SqlCapture")
+@ActiveProfiles("test")
+class RepositoryIndexUsageTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 2, 0, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 50);
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private FulfillmentRepository fulfillmentRepository;
+    @Autowired
+    private TrackingRepository trackingRepository;
+    @Autowired
+    private TrackingEventRepository trackingEventRepository;
+    @Autowired
+    private WebsiteRepository websiteRepository;
+    @Autowired
+    private OrganizationRepository organizationRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Repositories repositories;
+
+    record Repositories(OrderRepository orders, OrderItemRepository orderItems, FulfillmentRepository fulfillments,
+            TrackingRepository tracking, TrackingEventRepository trackingEvents, WebsiteRepository websites,
+            OrganizationRepository organizations, OutboxEventRepository outboxEvents,
+            FulfillmentService fulfillmentService) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        repositories = new Repositories(orderRepository, orderItemRepository, fulfillmentRepository,
+                trackingRepository, trackingEventRepository, websiteRepository, organizationRepository,
+                outboxEventRepository, fulfillmentService);
+    }
+
+    static Stream<Arguments> finders() {
+        return Stream.of(
+                finder("OrderRepository.findByOrgId", r -> r.orders().findByOrgId("o",
+                        PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "updatedAt", "id")))),
+                finder("OrderRepository.findByOrgIdAndWebsiteId", r -> r.orders().findByOrgIdAndWebsiteId("o", "w",
+                        PAGE)),
+                finder("OrderRepository.findByOrgIdAndIngestedAtBetween",
+                        r -> r.orders().findByOrgIdAndIngestedAtBetween("o", FROM, TO, PAGE)),
+                finder("OrderRepository.findByOrgIdAndWebsiteIdAndExternalOrderId",
+                        r -> r.orders().findByOrgIdAndWebsiteIdAndExternalOrderId("o", "w", "e")),
+                finder("OrderRepository.findExternalOrderIds",
+                        r -> r.orders().findExternalOrderIds("o", "w", List.of("e1", "e2"))),
+                finder("OrderRepository.findIdForUpdate", r -> r.orders().findIdForUpdate("o", "w", "e")),
+                finder("OrderRepository.findForUpdateById", r -> r.orders().findForUpdateById("x")),
+                finder("OrderRepository.streamForExport", r -> {
+                    try (var orders = r.orders().streamForExport("o", null, FROM, TO)) {
+                        orders.count();
+                    }
+                }),
+                finder("OrderItemRepository.findByOrderId", r -> r.orderItems().findByOrderId("x")),
+                finder("FulfillmentRepository.findByOrgIdAndOrderId",
+                        r -> r.fulfillments().findByOrgIdAndOrderId("o", "x", PAGE)),
+                finder("FulfillmentRepository.findByOrgIdAndOrderIdAndExternalFulfillmentId",
+                        r -> r.fulfillments().findByOrgIdAndOrderIdAndExternalFulfillmentId("o", "x", "e")),
+                finder("FulfillmentRepository.findByOrgIdAndId", r -> r.fulfillments().findByOrgIdAndId("o", "f")),
+                finder("FulfillmentRepository.countByStatus", r -> r.fulfillments().countByStatus("o", "x")),
+                finder("FulfillmentService.listFulfillments", r -> r.fulfillmentService().listFulfillments("x",
+                        null, null, 0, 50, "updatedAt,desc", null, null, null)),
+                finder("TrackingRepository.findByOrgIdAndFulfillmentId",
+                        r -> r.tracking().findByOrgIdAndFulfillmentId("o", "f", PAGE)),
+                finder("TrackingRepository.findByOrgIdAndId", r -> r.tracking().findByOrgIdAndId("o", "t")),
+                finder("TrackingRepository.findForUpdateById", r -> r.tracking().findForUpdateById("t")),
+                finder("TrackingRepository.findIdsByOrgIdAndTrackingNumber",
+                        r -> r.tracking().findIdsByOrgIdAndTrackingNumber("o", "n", PageRequest.of(0, 1))),
+                finder("TrackingRepository.findRecentTrackingNumbers",
+                        r -> r.tracking().findRecentTrackingNumbers(PAGE)),
+                finder("TrackingRepository.findByFulfillmentIdAndTrackingNumber",
+                        r -> r.tracking().findByFulfillmentIdAndTrackingNumber("f", "n")),
+                finder("TrackingEventRepository.findByTrackingIdOrderByEventTimeDesc",
+                        r -> r.trackingEvents().findByTrackingIdOrderByEventTimeDesc("t")),
+                finder("TrackingEventRepository.findFirstByTrackingIdOrderByEventTimeDesc",
+                        r -> r.trackingEvents().findFirstByTrackingIdOrderByEventTimeDesc("t")),
+                finder("TrackingEventRepository.findByOrgIdAndEventKey",
+                        r -> r.trackingEvents().findByOrgIdAndEventKey("o", new byte[16])),
+                finder("TrackingEventRepository.findByOrgIdAndEventKeyIn",
+                        r -> r.trackingEvents().findByOrgIdAndEventKeyIn("o", List.of(new byte[16], new byte[16]))),
+                finder("TrackingEventRepository.findTrackingIdsWithPendingRollup",
+                        r -> r.trackingEvents().findTrackingIdsWithPendingRollup()),
+                finder("WebsiteRepository.findByOrgId", r -> r.websites().findByOrgId("o", PAGE)),
+                finder("WebsiteRepository.findByOrgIdAndStatus",
+                        r -> r.websites().findByOrgIdAndStatus("o", WebsiteStatus.ACTIVE, PAGE)),
+                finder("WebsiteRepository.findByOrgIdAndPlatform",
+                        r -> r.websites().findByOrgIdAndPlatform("o", Platform.SHOPIFY, PAGE)),
+                finder("WebsiteRepository.findByOrgIdAndCodeContainingIgnoreCase",
+                        r -> r.websites().findByOrgIdAndCodeContainingIgnoreCase("o", "c", PAGE)),
+                finder("WebsiteRepository.findByOrgIdAndDomainContainingIgnoreCase",
+                        r -> r.websites().findByOrgIdAndDomainContainingIgnoreCase("o", "d", PAGE)),
+                finder("WebsiteRepository.findByOrgIdAndId", r -> r.websites().findByOrgIdAndId("o", "w")),
+                finder("WebsiteRepository.existsByOrgIdAndId", r -> r.websites().existsByOrgIdAndId("o", "w")),
+                finder("OrganizationRepository.findByExternalId", r -> r.organizations().findByExternalId("e")),
+                finder("OrganizationRepository.findByStatus",
+                        r -> r.organizations().findByStatus(OrgStatus.ACTIVE, PAGE)),
+                finder("OutboxEventRepository.findPage", r -> r.outboxEvents().findPage("o", 0, 100,
+                        EnumSet.allOf(EntityType.class), PageRequest.of(0, 100))),
+                finder("OutboxEventRepository.findIdsAfter",
+                        r -> r.outboxEvents().findIdsAfter(0, PageRequest.of(0, 100))),
+                finder("OutboxEventRepository.findIdsIn",
+                        r -> r.outboxEvents().findIdsIn(List.of(1L, 2L))),
+                finder("OutboxEventRepository.findIdsCreatedBefore",
+                        r -> r.outboxEvents().findIdsCreatedBefore(FROM, PageRequest.of(0, 1))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderUsesAnIndex(String finder, Consumer<Repositories> call) {
+        List<String> statements = new TransactionTemplate(transactionManager).execute(status -> {
+            SqlCapture.begin();
+            try {
+                call.accept(repositories);
+            } finally {
+                status.setRollbackOnly();
+            }
+            return SqlCapture.end();
+        });
+
+        assertThat(statements).as("SQL run by %s", finder).isNotEmpty();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : null);
+            assertThat(plan).as("plan for %s: %s", finder, sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private static Arguments finder(String name, Consumer<Repositories> call) {
+        return Arguments.of(name, call);
+    }
+
+    // Registered by class name above, so the captured statements live in a static
+    public static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static void begin() {
+            STATEMENTS.set(new ArrayList<>());
+        }
+
+        static List<String> end() {
+            List<String> statements = STATEMENTS.get();
+            STATEMENTS.remove();
+            return statements;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.models.Fulfillment;
+import com.ecomm.logistics.models.Fulfillment.FulfillmentStatus;
+import com.ecomm.logistics.models.Order.FulfillmentOverallStatus;
+import com.ecomm.logistics.repositories.FulfillmentRepository;
+import com.ecomm.logistics.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FulfillmentServiceTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private FulfillmentRepository fulfillmentRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String orgId;
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Fulfillments");
+        orgId = store.orgId();
+        orderId = orderService.createOrder(TestFixtures.order(orgId, store.websiteId(), "FUL-ORDER", "40.00"))
+                .getId();
+    }
+
+    // Every step is checked against the status derived from the full list of
+    // fulfillments, the way it was computed before the grouped count
+    @Test
+    void groupedCountMatchesTheStatusDerivedFromEveryFulfillment() {
+        String first = create(FulfillmentStatus.CREATED);
+        assertOverallStatus(FulfillmentOverallStatus.UNFULFILLED);
+
+        String second = create(FulfillmentStatus.CANCELLED);
+        String third = create(FulfillmentStatus.FAILED);
+        assertOverallStatus(FulfillmentOverallStatus.UNFULFILLED);
+
+        patch(first, FulfillmentStatus.SHIPPED);
+        assertOverallStatus(FulfillmentOverallStatus.PARTIAL);
+
+        patch(first, FulfillmentStatus.DELIVERED);
+        patch(third, FulfillmentStatus.DELIVERED);
+        assertOverallStatus(FulfillmentOverallStatus.PARTIAL);
+
+        fulfillmentService.deleteFulfillment(orderId, second);
+        assertOverallStatus(FulfillmentOverallStatus.FULFILLED);
+
+        patch(first, FulfillmentStatus.CANCELLED);
+        patch(third, FulfillmentStatus.CANCELLED);
+        assertOverallStatus(FulfillmentOverallStatus.CANCELLED);
+
+        fulfillmentService.deleteFulfillment(orderId, first);
+        fulfillmentService.deleteFulfillment(orderId, third);
+        assertOverallStatus(FulfillmentOverallStatus.UNFULFILLED);
+    }
+
+    private void assertOverallStatus(FulfillmentOverallStatus expected) {
+        FulfillmentOverallStatus stored = orderRepository.findById(orderId).orElseThrow().getFulfillmentStatus();
+        assertThat(stored).isEqualTo(expected);
+        assertThat(stored).isEqualTo(deriveFromEveryFulfillment());
+    }
+
+    private FulfillmentOverallStatus deriveFromEveryFulfillment() {
+        List<Fulfillment> fulfillments = fulfillmentRepository
+                .findByOrgIdAndOrderId(orgId, orderId, Pageable.unpaged()).getContent();
+        if (fulfillments.isEmpty()) {
+            return FulfillmentOverallStatus.UNFULFILLED;
+        }
+        if (fulfillments.stream().allMatch(f -> f.getStatus() == FulfillmentStatus.DELIVERED)) {
+            return FulfillmentOverallStatus.FULFILLED;
+        }
+        if (fulfillments.stream().allMatch(f -> f.getStatus() == FulfillmentStatus.CANCELLED)) {
+            return FulfillmentOverallStatus.CANCELLED;
+        }
+        if (fulfillments.stream().anyMatch(
+                f -> f.getStatus() == FulfillmentStatus.SHIPPED || f.getStatus() == FulfillmentStatus.DELIVERED)) {
+            return FulfillmentOverallStatus.PARTIAL;
+        }
+        return FulfillmentOverallStatus.UNFULFILLED;
+    }
+
+    private String create(FulfillmentStatus status) {
+        FulfillmentRequest request = new FulfillmentRequest();
+        request.setExternalFulfillmentId("FUL-" + UUID.randomUUID());
+        request.setStatus(status);
+        return fulfillmentService.createFulfillment(orderId, request).getId();
+    }
+
+    private void patch(String fulfillmentId, FulfillmentStatus status) {
+        FulfillmentRequest request = new FulfillmentRequest();
+        request.setStatus(status);
+        fulfillmentService.patchFulfillment(orderId, fulfillmentId, request);
+    }
+}
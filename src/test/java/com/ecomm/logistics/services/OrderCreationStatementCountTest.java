@@ -0,0 +1,137 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderItemResponse;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderCreationStatementCountTest {
+
+    private static final int ITEMS = 20;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+
+    private String orgId;
+    private String websiteId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Statement count");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+
+        // Warms the org and website existence cache
+        orderService.createOrder(order("WARMUP", 0, 1));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void newOrderWithTwentyItemsSkipsTheSelectBeforeInsert() {
+        orderService.createOrder(order("COUNTED", 0, ITEMS));
+
+        // Order upsert, the locked id read, one batched item insert and the rollup
+        // increment. Hibernate only sees its own statements: the search index and
+        // outbox_events batches go through JdbcTemplate and come on top, one each.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEMS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void largeOrderItemsAreInsertedInBatches() {
+        orderService.createOrder(order("LARGE", 0, 200));
+
+        // Still one prepared item insert, executed as 200 / batch_size JDBC batches
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+    }
+
+    @Test
+    void redeliveryReconcilesItemsByExternalLineItemId() {
+        orderService.createOrder(order("RECONCILED", 0, ITEMS));
+
+        // Lines 10-19 dropped, 0-9 changed, 20-24 added
+        OrderRequest redelivery = order("RECONCILED", 20, 5);
+        for (int i = 0; i < 10; i++) {
+            OrderItemRequest changed = item(i);
+            changed.setQuantity(2);
+            redelivery.getItems().add(changed);
+        }
+        statistics.clear();
+        OrderResponse response = orderService.createOrder(redelivery);
+
+        assertThat(response.getItems()).hasSize(15);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(5);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(10);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(10);
+        // Upsert, locked id and order reads, item load, then one batch each for insert,
+        // update and delete
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+    }
+
+    @Test
+    void redeliveryMatchesLinesWithoutExternalIdsBySkuAndPosition() {
+        OrderRequest request = order("UNKEYED", 0, 0);
+        for (int i = 0; i < 5; i++) {
+            request.getItems().add(unkeyedItem(i));
+        }
+        // A second line of the same sku, matched by its position among that sku's lines
+        request.getItems().add(unkeyedItem(0));
+        List<String> ids = orderService.createOrder(request).getItems().stream()
+                .map(OrderItemResponse::getId)
+                .toList();
+
+        request.getItems().get(5).setQuantity(2);
+        statistics.clear();
+        OrderResponse response = orderService.createOrder(request);
+
+        assertThat(response.getItems()).extracting(OrderItemResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    private OrderRequest order(String externalOrderId, int firstLine, int lines) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, externalOrderId, "200.00");
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = firstLine; i < firstLine + lines; i++) {
+            items.add(item(i));
+        }
+        request.setItems(items);
+        return request;
+    }
+
+    private static OrderItemRequest item(int line) {
+        return TestFixtures.item("LINE-" + line, "SKU-" + line, "10.00");
+    }
+
+    private static OrderItemRequest unkeyedItem(int line) {
+        return TestFixtures.item(null, "SKU-" + line, "10.00");
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderExportServiceTest {
+
+    private static final int ORDERS = 250;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderExportService exportService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Value("${logistics.export.fetch-size}")
+    private int fetchSize;
+
+    private String orgId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Export");
+        orgId = store.orgId();
+        String websiteId = store.websiteId();
+
+        for (int i = 0; i < ORDERS; i++) {
+            OrderRequest order = TestFixtures.order(orgId, websiteId, "EXPORT-" + i, "10.00");
+            order.setItems(List.of(item("A-" + i), item("B-" + i)));
+            orderService.createOrder(order);
+        }
+    }
+
+    @Test
+    void exportStreamsPastTheFetchSizeAndDetachesEachOrder() {
+        assertThat(ORDERS).isGreaterThan(fetchSize);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // The export joins this transaction, so its persistence context is the one
+        // inspected afterwards
+        int managed = new TransactionTemplate(transactionManager).execute(status -> {
+            long count = export(out);
+            assertThat(count).isEqualTo(ORDERS);
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+        assertThat(managed).isZero();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(ORDERS);
+        for (String line : lines) {
+            JsonNode order = jsonMapper.readTree(line);
+            String suffix = order.get("externalOrderId").asString().substring("EXPORT-".length());
+            assertThat(order.get("items")).extracting(item -> item.get("sku").asString())
+                    .containsExactlyInAnyOrder("A-" + suffix, "B-" + suffix);
+        }
+    }
+
+    private long export(ByteArrayOutputStream out) {
+        try {
+            return exportService.exportOrders(orgId, null, LocalDateTime.now().minusHours(1),
+                    LocalDateTime.now().plusHours(1), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static OrderItemRequest item(String sku) {
+        OrderItemRequest item = TestFixtures.item(sku, sku, "5.00");
+        item.setName(sku);
+        return item;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderImportResult.ResultStatus;
+import com.ecomm.logistics.dtos.OrderItemRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.models.Website.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "logistics.orders.import.chunk-size=2")
+@ActiveProfiles("test")
+class OrderImportServiceTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderImportService importService;
+    @Autowired
+    private OrderRollupService rollupService;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String orgId;
+    private String websiteId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Import", Platform.SHOPIFY);
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    @Test
+    void importsNewOrdersAndReportsEveryLine() throws Exception {
+        String storedId = orderService.createOrder(TestFixtures.order(orgId, websiteId, "1003", "5.00")).getId();
+
+        String ndjson = String.join("\n",
+                order("1001", "first@example.com", 2),
+                order("1002", "second@example.com", 0),
+                order("1001", "again@example.com", 1),
+                order("1003", "stored@example.com", 1),
+                "{not json",
+                "",
+                "{\"orderTotal\": 1.00}",
+                order("1004", "fourth@example.com", 3));
+
+        List<JsonNode> results = importOrders(ndjson);
+
+        assertThat(results).extracting(result -> result.get("line").asLong())
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 7L, 8L);
+        assertThat(results).extracting(result -> result.get("result").asString())
+                .containsExactly(ResultStatus.CREATED.name(), ResultStatus.CREATED.name(),
+                        ResultStatus.DUPLICATE.name(), ResultStatus.EXISTING.name(), ResultStatus.INVALID.name(),
+                        ResultStatus.INVALID.name(), ResultStatus.CREATED.name());
+        assertThat(results.get(3).get("orderId").asString()).isEqualTo(storedId);
+
+        OrderResponse imported = orderService.getOrderById(results.get(0).get("orderId").asString());
+        assertThat(imported.getCustomerEmail()).isEqualTo("first@example.com");
+        assertThat(imported.getItems()).hasSize(2);
+
+        assertThat(orderService.searchOrdersByExternal(orgId, null, null, null, "fourth@", 0, 10).getData())
+                .extracting(OrderResponse::getExternalOrderId)
+                .containsExactly("1004");
+        assertThat(rollupService.summarize(orgId, null, null, null, "status", null, null, null).getTotalOrders())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void reimportingTheSameFileCreatesNothing() throws Exception {
+        String ndjson = order("2001", "a@example.com", 1) + "\n" + order("2002", "b@example.com", 1);
+        importOrders(ndjson);
+
+        List<JsonNode> results = importOrders(ndjson);
+
+        assertThat(results).extracting(result -> result.get("result").asString())
+                .containsOnly(ResultStatus.EXISTING.name());
+    }
+
+    @Test
+    void valuesTooLongOrTooLargeForTheirColumnsAreInvalid() throws Exception {
+        OrderRequest longCurrency = line("3001");
+        longCurrency.setCurrency("U".repeat(256));
+        OrderRequest hugeTotal = line("3002");
+        hugeTotal.setOrderTotal(new BigDecimal("1" + "0".repeat(36) + ".50"));
+
+        List<JsonNode> results = importOrders(String.join("\n",
+                jsonMapper.writeValueAsString(longCurrency),
+                jsonMapper.writeValueAsString(hugeTotal),
+                order("3003", "ok@example.com", 1)));
+
+        assertThat(results).extracting(result -> result.get("result").asString())
+                .containsExactly(ResultStatus.INVALID.name(), ResultStatus.INVALID.name(),
+                        ResultStatus.CREATED.name());
+        assertThat(results.get(0).get("error").asString()).contains("currency");
+        assertThat(results.get(1).get("error").asString()).contains("orderTotal");
+    }
+
+    @Test
+    void rowTheDatabaseRejectsIsIsolatedFromTheRestOfItsChunk() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE orders ADD CONSTRAINT chk_import_test"
+                + " CHECK (external_order_number IS NULL OR external_order_number <> 'REJECT')");
+        try {
+            OrderRequest rejected = line("4002");
+            rejected.setExternalOrderNumber("REJECT");
+
+            // Chunks of two: the rejected line shares its chunk with 4001
+            List<JsonNode> results = importOrders(String.join("\n",
+                    order("4001", "first@example.com", 1),
+                    jsonMapper.writeValueAsString(rejected),
+                    order("4003", "third@example.com", 1)));
+
+            assertThat(results).extracting(result -> result.get("line").asLong()).containsExactly(1L, 2L, 3L);
+            assertThat(results).extracting(result -> result.get("result").asString())
+                    .containsExactly(ResultStatus.CREATED.name(), ResultStatus.INVALID.name(),
+                            ResultStatus.CREATED.name());
+            assertThat(results.get(1).get("error").asString()).startsWith("Rejected by the database");
+            assertThat(orderService.getOrderById(results.get(0).get("orderId").asString()).getItems())
+                    .hasSize(1);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE orders DROP CONSTRAINT chk_import_test");
+        }
+    }
+
+    private List<JsonNode> importOrders(String ndjson) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importService.importOrders(orgId, websiteId,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(jsonMapper::readTree)
+                .toList();
+    }
+
+    private String order(String externalOrderId, String email, int itemCount) {
+        OrderRequest request = line(externalOrderId);
+        request.setCustomerEmail(email);
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(TestFixtures.item("L" + i, "SKU-" + i, "5.00"));
+        }
+        request.setItems(items);
+        return jsonMapper.writeValueAsString(request);
+    }
+
+    // Import lines leave the organization and website to the request path
+    private static OrderRequest line(String externalOrderId) {
+        return TestFixtures.order(null, null, externalOrderId, "10.00");
+    }
+}
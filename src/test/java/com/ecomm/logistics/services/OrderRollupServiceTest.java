@@ -0,0 +1,178 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderSummaryResponse;
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderRollupServiceTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRollupService rollupService;
+
+    private String orgId;
+    private String websiteId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Rollups");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    @Test
+    void incrementalRollupsMatchARebuild() {
+        orderService.createOrder(order("A", FinancialStatus.PAID, "10.00"));
+        orderService.createOrder(order("B", FinancialStatus.PAID, "20.00"));
+        String pendingId = orderService.createOrder(order("C", FinancialStatus.PENDING, "5.00")).getId();
+        String deletedId = orderService.createOrder(order("D", FinancialStatus.PENDING, "7.50")).getId();
+
+        OrderRequest patch = new OrderRequest();
+        patch.setFinancialStatus(FinancialStatus.PAID);
+        patch.setOrderTotal(new BigDecimal("6.00"));
+        orderService.patchOrder(pendingId, patch);
+        orderService.deleteOrder(deletedId);
+
+        OrderSummaryResponse incremental = summary();
+        assertThat(incremental.getTotalOrders()).isEqualTo(3);
+        assertThat(incremental.getTotalAmount()).isEqualByComparingTo("36.00");
+        assertThat(incremental.getBuckets()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.getKey()).isEqualTo("PAID"));
+
+        rollupService.rebuild(orgId);
+        OrderSummaryResponse rebuilt = summary();
+        assertThat(rebuilt.getTotalOrders()).isEqualTo(incremental.getTotalOrders());
+        assertThat(rebuilt.getTotalAmount()).isEqualByComparingTo(incremental.getTotalAmount());
+    }
+
+    @Test
+    void ordersWrittenDuringARebuildAreCountedOnce() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            orderService.createOrder(order("SEED-" + i, FinancialStatus.PAID, "1.00"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String externalId = "LIVE-" + i;
+                futures.add(executor.submit(() -> orderService.createOrder(order(externalId, FinancialStatus.PAID,
+                        "1.00"))));
+                if (i % 10 == 0) {
+                    futures.add(executor.submit(() -> rollupService.rebuild(orgId)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        OrderSummaryResponse incremental = summary();
+        assertThat(incremental.getTotalOrders()).isEqualTo(60);
+        assertThat(incremental.getTotalAmount()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void concurrentUpdatesToOneOrderLeaveOnlyItsLastBucket() throws Exception {
+        String orderId = orderService.createOrder(order("HOT", FinancialStatus.PENDING, "4.00")).getId();
+        FinancialStatus[] statuses = { FinancialStatus.PAID, FinancialStatus.REFUNDED, FinancialStatus.PENDING };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                FinancialStatus status = statuses[i % statuses.length];
+                futures.add(executor.submit(() -> {
+                    OrderRequest patch = new OrderRequest();
+                    patch.setFinancialStatus(status);
+                    return orderService.patchOrder(orderId, patch);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Every patch moved the order out of the bucket the previous one left it in
+        OrderSummaryResponse incremental = summary();
+        assertThat(incremental.getBuckets()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.getOrderCount()).isEqualTo(1);
+            assertThat(bucket.getOrderTotal()).isEqualByComparingTo("4.00");
+        });
+
+        rollupService.rebuild(orgId);
+        assertThat(summary().getBuckets()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.getKey()).isEqualTo(incremental.getBuckets().get(0).getKey()));
+    }
+
+    @Test
+    void oppositeMovesBetweenTheSameBucketsDoNotDeadlock() throws Exception {
+        String first = orderService.createOrder(order("FIRST", FinancialStatus.PENDING, "2.00")).getId();
+        String second = orderService.createOrder(order("SECOND", FinancialStatus.PAID, "3.00")).getId();
+
+        // Each round moves one order PENDING -> PAID and the other PAID -> PENDING at once
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                boolean even = round % 2 == 0;
+                Future<?> one = executor.submit(() -> orderService.patchOrder(first,
+                        financialStatus(even ? FinancialStatus.PAID : FinancialStatus.PENDING)));
+                Future<?> other = executor.submit(() -> orderService.patchOrder(second,
+                        financialStatus(even ? FinancialStatus.PENDING : FinancialStatus.PAID)));
+                one.get();
+                other.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        OrderSummaryResponse incremental = summary();
+        assertThat(incremental.getBuckets())
+                .extracting(OrderSummaryResponse.Bucket::getKey, OrderSummaryResponse.Bucket::getOrderCount)
+                .containsExactly(tuple("PAID", 1L), tuple("PENDING", 1L));
+        assertThat(incremental.getTotalAmount()).isEqualByComparingTo("5.00");
+    }
+
+    private static OrderRequest financialStatus(FinancialStatus status) {
+        OrderRequest patch = new OrderRequest();
+        patch.setFinancialStatus(status);
+        return patch;
+    }
+
+    private OrderSummaryResponse summary() {
+        return rollupService.summarize(orgId, null, null, null, "financialStatus", null, null, null);
+    }
+
+    private OrderRequest order(String externalId, FinancialStatus financialStatus, String total) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, externalId, total);
+        request.setFinancialStatus(financialStatus);
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.cache.ExistenceCache;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.mappers.OrderMapper;
+import com.ecomm.logistics.models.Order;
+import com.ecomm.logistics.repositories.OrderItemRepository;
+import com.ecomm.logistics.repositories.OrderRepository;
+import com.ecomm.logistics.repositories.OrganizationRepository;
+import com.ecomm.logistics.repositories.WebsiteRepository;
+import com.ecomm.logistics.utils.IdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceTest {
+
+    private OrderRepository orderRepository;
+    private OrganizationRepository organizationRepository;
+    private WebsiteRepository websiteRepository;
+    private ExistenceCache existenceCache;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        organizationRepository = mock(OrganizationRepository.class);
+        websiteRepository = mock(WebsiteRepository.class);
+        when(organizationRepository.existsById("ORG1")).thenReturn(true);
+        when(websiteRepository.existsByOrgIdAndId("ORG1", "WEB1")).thenReturn(true);
+        // Every upsert inserts: the locked read hands back the id that was just written
+        AtomicReference<String> insertedId = new AtomicReference<>();
+        when(orderRepository.upsert(any(Order.class))).thenAnswer(invocation -> {
+            insertedId.set(invocation.getArgument(0, Order.class).getId());
+            return 1;
+        });
+        when(orderRepository.findIdForUpdate(any(), any(), any()))
+                .thenAnswer(invocation -> Optional.of(insertedId.get()));
+
+        existenceCache = new ExistenceCache(organizationRepository, websiteRepository, new SimpleMeterRegistry(),
+                true, Duration.ofMinutes(5), 100);
+        orderService = new OrderService(orderRepository, mock(OrderItemRepository.class), existenceCache,
+                new OrderMapper(), new IdGenerator(1, false), mock(OrderRollupService.class),
+                mock(SearchIndexService.class), mock(OutboxService.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void ingestingOrdersLooksUpOrgAndWebsiteOnce() {
+        for (int i = 0; i < 25; i++) {
+            orderService.createOrder(request("ext-" + i));
+        }
+
+        verify(organizationRepository, times(1)).existsById("ORG1");
+        verify(websiteRepository, times(1)).existsByOrgIdAndId("ORG1", "WEB1");
+    }
+
+    @Test
+    void evictedOrganizationIsLookedUpAgain() {
+        orderService.createOrder(request("ext-1"));
+        existenceCache.evictOrganization("ORG1");
+        orderService.createOrder(request("ext-2"));
+
+        verify(organizationRepository, times(2)).existsById("ORG1");
+        verify(websiteRepository, times(2)).existsByOrgIdAndId("ORG1", "WEB1");
+    }
+
+    private OrderRequest request(String externalOrderId) {
+        return TestFixtures.order("ORG1", "WEB1", externalOrderId, "10.00");
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.models.Order.FinancialStatus;
+import com.ecomm.logistics.models.Website.Platform;
+import com.ecomm.logistics.repositories.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderUpsertConcurrencyTest {
+
+    private static final int WORKERS = 8;
+    private static final int ORDERS = 50;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRollupService rollupService;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    // Simulates a webhook storm: every worker delivers every order, in its own order,
+    // all released at once. Each external order must end up as exactly one row.
+    @Test
+    void concurrentDeliveriesOfTheSameOrdersNeverDuplicate() throws Exception {
+        Store store = new TestFixtures(context).store("Webhook storm", Platform.SHOPIFY);
+        String orgId = store.orgId();
+        String websiteId = store.websiteId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < WORKERS; w++) {
+            workers.add(executor.submit(() -> {
+                List<Integer> sequence = new ArrayList<>();
+                for (int i = 0; i < ORDERS; i++) {
+                    sequence.add(i);
+                }
+                Collections.shuffle(sequence);
+                start.await();
+                for (int i : sequence) {
+                    orderService.createOrder(order(orgId, websiteId, i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(orderRepository.findByOrgId(orgId, Pageable.unpaged()).getTotalElements()).isEqualTo(ORDERS);
+        assertThat(rollupService.summarize(orgId, null, null, null, "status", null, null, null).getTotalOrders())
+                .isEqualTo(ORDERS);
+    }
+
+    @Test
+    void unchangedRedeliveryKeepsUpdatedAt() {
+        Store store = new TestFixtures(context).store("Quiet redelivery", Platform.SHOPIFY);
+        OrderResponse created = orderService.createOrder(order(store.orgId(), store.websiteId(), 0));
+        LocalDateTime updatedAt = orderRepository.findById(created.getId()).orElseThrow().getUpdatedAt();
+
+        OrderResponse redelivered = orderService.createOrder(order(store.orgId(), store.websiteId(), 0));
+
+        assertThat(redelivered.getId()).isEqualTo(created.getId());
+        assertThat(orderRepository.findById(created.getId()).orElseThrow().getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
+    private OrderRequest order(String orgId, String websiteId, int index) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, "SHOP-" + index, "12.50");
+        request.setFinancialStatus(FinancialStatus.PAID);
+        request.setItems(List.of(TestFixtures.item("LINE-" + index, "SKU-" + index, "12.50")));
+        return request;
+    }
+}
@@ -0,0 +1,261 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.ChangeEventPage;
+import com.ecomm.logistics.dtos.ChangeEventResponse;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.models.OutboxEvent.ChangeType;
+import com.ecomm.logistics.models.OutboxEvent.EntityType;
+import com.ecomm.logistics.repositories.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "logistics.outbox.relay.enabled=true",
+        "logistics.outbox.relay.poll-interval=50ms",
+        "logistics.outbox.relay.gap-timeout=2s",
+        "logistics.outbox.write-timeout=1s"
+})
+@ActiveProfiles("test")
+class OutboxTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private TrackingService trackingService;
+    @Autowired
+    private TrackingEventService eventService;
+    @Autowired
+    private ChangeEventRelay relay;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String orgId;
+    private String websiteId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Outbox");
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    @Test
+    void mutationsAreDeliveredInCommitOrderAndResumeFromTheirOffsets() throws Exception {
+        String orderId = orderService.createOrder(order("OUTBOX-1")).getId();
+        FulfillmentRequest fulfillment = new FulfillmentRequest();
+        fulfillment.setExternalFulfillmentId("FUL-" + UUID.randomUUID());
+        String fulfillmentId = fulfillmentService.createFulfillment(orderId, fulfillment).getId();
+        TrackingRequest tracking = new TrackingRequest();
+        tracking.setTrackingNumber("1Z-OUTBOX");
+        tracking.setCarrier("UPS");
+        String trackingId = trackingService.createTracking(fulfillmentId, tracking).getId();
+        eventService.ingestEvent(orgId, trackingId, event("D"));
+        eventService.ingestEvent(orgId, trackingId, event("D"));
+        trackingService.deleteTracking(fulfillmentId, trackingId);
+
+        List<ChangeEventResponse> events = collect(0, 7);
+
+        // Creating the fulfillment also moves the order's fulfillment status, and the
+        // delivered scan rolls up into the tracking before the duplicate is dropped
+        assertThat(events)
+                .extracting(ChangeEventResponse::getEntityType, ChangeEventResponse::getChangeType)
+                .containsExactly(
+                        tuple(EntityType.ORDER, ChangeType.CREATED),
+                        tuple(EntityType.ORDER, ChangeType.UPDATED),
+                        tuple(EntityType.FULFILLMENT, ChangeType.CREATED),
+                        tuple(EntityType.TRACKING, ChangeType.CREATED),
+                        tuple(EntityType.TRACKING, ChangeType.UPDATED),
+                        tuple(EntityType.TRACKING_EVENT, ChangeType.CREATED),
+                        tuple(EntityType.TRACKING, ChangeType.DELETED));
+        assertThat(events).extracting(ChangeEventResponse::getOffset).isSorted();
+        assertThat(events.get(0).getPayload()).contains(orderId, "OUTBOX-1");
+        assertThat(events.get(4).getPayload()).contains(trackingId, "DELIVERED");
+        assertThat(events.get(6).getPayload()).isNull();
+
+        ChangeEventPage fulfillments = await(relay.poll(orgId, 0L, Set.of(EntityType.FULFILLMENT), 100, 0));
+        assertThat(fulfillments.getEvents()).extracting(ChangeEventResponse::getEntityId)
+                .containsExactly(fulfillmentId);
+
+        long last = events.get(6).getOffset();
+        ChangeEventPage resumed = await(relay.poll(orgId, events.get(3).getOffset(), null, 100, 0));
+        assertThat(resumed.getEvents()).hasSize(3);
+        assertThat(resumed.getNextOffset()).isEqualTo(last);
+        ChangeEventPage caughtUp = await(relay.poll(orgId, last, null, 100, 0));
+        assertThat(caughtUp.getEvents()).isEmpty();
+        assertThat(caughtUp.getNextOffset()).isEqualTo(last);
+    }
+
+    @Test
+    void redeliveryRecordsAnEventOnlyWhenTheOrderChanges() throws Exception {
+        OrderRequest request = order("REDELIVERED");
+        String orderId = orderService.createOrder(request).getId();
+        orderService.createOrder(request);
+        request.setCustomerEmail("changed@example.com");
+        orderService.createOrder(request);
+
+        // All three deliveries are committed, so a stray event would be on the same page
+        assertThat(collect(0, 2))
+                .extracting(ChangeEventResponse::getEntityId, ChangeEventResponse::getChangeType)
+                .containsExactly(tuple(orderId, ChangeType.CREATED), tuple(orderId, ChangeType.UPDATED));
+    }
+
+    @Test
+    void waitingPollIsAnsweredByTheNextCommitAndRolledBackChangesNeverShow() throws Exception {
+        DeferredResult<ChangeEventPage> waiting = relay.poll(orgId, null, null, 100, 30);
+        assertThat(waiting.hasResult()).isFalse();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderService.createOrder(order("ROLLED-BACK"));
+            status.setRollbackOnly();
+        });
+        String orderId = orderService.createOrder(order("COMMITTED")).getId();
+
+        ChangeEventPage page = await(waiting);
+        assertThat(page.getEvents()).extracting(ChangeEventResponse::getEntityId).containsExactly(orderId);
+        assertThat(page.getNextOffset()).isEqualTo(page.getEvents().get(0).getOffset());
+    }
+
+    @Test
+    void lowerIdCommittingAfterAHigherOneHoldsTheHigherOneBack() throws Exception {
+        Store other = new TestFixtures(context).store("Outbox other");
+        DeferredResult<ChangeEventPage> lowWaiting = relay.poll(orgId, null, null, 100, 30);
+        DeferredResult<ChangeEventPage> highWaiting = relay.poll(other.orgId(), null, null, 100, 30);
+
+        // The first transaction takes its outbox id, then stays open past the second's commit
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> low = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    String id = orderService.createOrder(order("LOW")).getId();
+                    recorded.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return id;
+                }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+        String highId = orderService.createOrder(
+                TestFixtures.order(other.orgId(), other.websiteId(), "HIGH", "12.00")).getId();
+
+        // Well within gap-timeout, several scans see the higher id but not the one before it
+        Thread.sleep(300);
+        assertThat(highWaiting.hasResult()).isFalse();
+
+        release.countDown();
+        String lowId = low.get(10, TimeUnit.SECONDS);
+        ChangeEventPage lowPage = await(lowWaiting);
+        ChangeEventPage highPage = await(highWaiting);
+        assertThat(lowPage.getEvents()).extracting(ChangeEventResponse::getEntityId).containsExactly(lowId);
+        assertThat(highPage.getEvents()).extracting(ChangeEventResponse::getEntityId).containsExactly(highId);
+        assertThat(lowPage.getNextOffset()).isLessThan(highPage.getNextOffset());
+    }
+
+    @Test
+    void transactionHeldPastTheWriteTimeoutIsRolledBack() {
+        String[] orderId = new String[1];
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderId[0] = orderService.createOrder(order("HELD")).getId();
+            try {
+                Thread.sleep(1200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })).isInstanceOf(TransactionTimedOutException.class);
+
+        assertThat(orderRepository.existsById(orderId[0])).isFalse();
+    }
+
+    @Test
+    void rowCommittedBehindTheWatermarkIsCountedAsLate() throws Exception {
+        double lateBefore = meterRegistry.get("outbox.events.late").counter().count();
+        long base = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM outbox_events", Long.class);
+
+        // Two ids stay missing past gap-timeout, so the watermark moves over them
+        insertEvent(base + 3);
+        ChangeEventPage page = await(relay.poll(orgId, base, null, 100, 30));
+        assertThat(page.getEvents()).extracting(ChangeEventResponse::getOffset).containsExactly(base + 3);
+
+        insertEvent(base + 1);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (meterRegistry.get("outbox.events.late").counter().count() == lateBefore
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(meterRegistry.get("outbox.events.late").counter().count()).isEqualTo(lateBefore + 1);
+        assertThat(await(relay.poll(orgId, base + 3, null, 100, 0)).getEvents()).isEmpty();
+    }
+
+    private void insertEvent(long id) {
+        jdbcTemplate.update("INSERT INTO outbox_events (id, org_id, entity_type, entity_id, change_type, created_at)"
+                + " VALUES (?, ?, 'ORDER', ?, 'UPDATED', ?)", id, orgId, "ORD-" + id, LocalDateTime.now());
+    }
+
+    private List<ChangeEventResponse> collect(long after, int count) throws InterruptedException {
+        List<ChangeEventResponse> events = new ArrayList<>();
+        long offset = after;
+        while (events.size() < count) {
+            ChangeEventPage page = await(relay.poll(orgId, offset, null, 100, 30));
+            events.addAll(page.getEvents());
+            offset = page.getNextOffset();
+        }
+        return events;
+    }
+
+    // No servlet container here, so a waiting poll only completes through the relay
+    private static ChangeEventPage await(DeferredResult<ChangeEventPage> result) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.hasResult()).isTrue();
+        return (ChangeEventPage) result.getResult();
+    }
+
+    private OrderRequest order(String externalOrderId) {
+        return TestFixtures.order(orgId, websiteId, externalOrderId, "12.00");
+    }
+
+    private static TrackingEventRequest event(String code) {
+        return TestFixtures.event(code, LocalDateTime.of(2026, 6, 1, 9, 30));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.OrderRequest;
+import com.ecomm.logistics.dtos.OrderResponse;
+import com.ecomm.logistics.dtos.OrganizationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexServiceTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrganizationService organizationService;
+    @Autowired
+    private OrderService orderService;
+
+    private String orgId;
+    private String websiteId;
+    private String unique;
+
+    @BeforeEach
+    void setUp() {
+        unique = UUID.randomUUID().toString().substring(0, 8);
+        // The external id comes out as search-fixture-<unique>-<uuid>
+        Store store = new TestFixtures(context).store("Search Fixture " + unique);
+        orgId = store.orgId();
+        websiteId = store.websiteId();
+    }
+
+    @Test
+    void ordersAreFoundBySubstringOfEachIndexedField() {
+        String orderId = orderService.createOrder(order("SHOP-1001", "#1001", "Jane.Doe@example.com")).getId();
+        orderService.createOrder(order("SHOP-2002", "#2002", "john@example.org"));
+
+        assertThat(searchIds("hop-100", null, null)).containsExactly(orderId);
+        assertThat(searchIds(null, "1001", null)).containsExactly(orderId);
+        assertThat(searchIds(null, null, "doe@EXAMPLE")).containsExactly(orderId);
+        assertThat(searchIds(null, null, "example")).hasSize(2);
+        // Shorter than a trigram, served by the LIKE alone
+        assertThat(searchIds("01", null, null)).containsExactly(orderId);
+        assertThat(searchIds("SHOP-9", null, null)).isEmpty();
+    }
+
+    @Test
+    void wildcardsInTheTermMatchLiterally() {
+        String orderId = orderService.createOrder(order("SHOP_4004", "#4004", "under@example.com")).getId();
+        orderService.createOrder(order("SHOP-4005", "#4005", "dash@example.com"));
+
+        assertThat(searchIds("P_", null, null)).containsExactly(orderId);
+        assertThat(searchIds("%", null, null)).isEmpty();
+    }
+
+    @Test
+    void updatesAndDeletesKeepTheIndexCurrent() {
+        String orderId = orderService.createOrder(order("SHOP-3003", "#3003", "old@example.com")).getId();
+
+        OrderRequest patch = new OrderRequest();
+        patch.setCustomerEmail("new@example.com");
+        orderService.patchOrder(orderId, patch);
+        assertThat(searchIds(null, null, "old@")).isEmpty();
+        assertThat(searchIds(null, null, "new@")).containsExactly(orderId);
+
+        orderService.deleteOrder(orderId);
+        assertThat(searchIds(null, null, "new@")).isEmpty();
+    }
+
+    @Test
+    void organizationsAreFoundByNameAndExternalId() {
+        assertThat(organizationService.listOrganizations("fixture " + unique, null, null, null, 0, 10,
+                "createdAt,desc").getData())
+                .extracting(OrganizationResponse::getId)
+                .containsExactly(orgId);
+        assertThat(organizationService.searchByExternalId("e-" + unique, 0, 10).getData())
+                .extracting(OrganizationResponse::getId)
+                .containsExactly(orgId);
+    }
+
+    private List<String> searchIds(String externalOrderId, String externalOrderNumber, String customerEmail) {
+        return orderService.searchOrdersByExternal(orgId, websiteId, externalOrderId, externalOrderNumber,
+                customerEmail, 0, 50).getData().stream()
+                .map(OrderResponse::getId)
+                .toList();
+    }
+
+    private OrderRequest order(String externalOrderId, String externalOrderNumber, String customerEmail) {
+        OrderRequest request = TestFixtures.order(orgId, websiteId, externalOrderId, "10.00");
+        request.setExternalOrderNumber(externalOrderNumber);
+        request.setCustomerEmail(customerEmail);
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.dtos.OrganizationRequest;
+import com.ecomm.logistics.dtos.WebsiteRequest;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import com.ecomm.logistics.models.Website.Platform;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles({ "test", "l2cache" })
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrganizationService organizationService;
+    @Autowired
+    private WebsiteService websiteService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String orgId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        orgId = new TestFixtures(context).organization("Cached");
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedOrganizationReadsAreServedFromTheCache() {
+        organizationService.getOrganization(orgId);
+        organizationService.getOrganization(orgId);
+
+        assertThat(statistics.getDomainDataRegionStatistics("organizations").getHitCount())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleThroughTheCache() {
+        organizationService.getOrganization(orgId);
+
+        OrganizationRequest patch = new OrganizationRequest();
+        patch.setName("Renamed");
+        organizationService.patchOrganization(orgId, patch);
+        assertThat(organizationService.getOrganization(orgId).getName()).isEqualTo("Renamed");
+
+        organizationService.deleteOrganization(orgId);
+        assertThatThrownBy(() -> organizationService.getOrganization(orgId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void websiteLookupsHitTheQueryCacheUntilTheTableChanges() {
+        String websiteId = new TestFixtures(context).website(orgId, "Cached", Platform.CUSTOM);
+        statistics.clear();
+
+        websiteService.getWebsite(orgId, websiteId);
+        websiteService.getWebsite(orgId, websiteId);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(1);
+
+        WebsiteRequest patch = new WebsiteRequest();
+        patch.setName("Renamed");
+        websiteService.patchWebsite(orgId, websiteId, patch);
+        assertThat(websiteService.getWebsite(orgId, websiteId).getName()).isEqualTo("Renamed");
+    }
+}
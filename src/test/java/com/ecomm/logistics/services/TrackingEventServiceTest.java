@@ -0,0 +1,150 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.TrackingEventBatchResponse;
+import com.ecomm.logistics.dtos.TrackingEventBatchResponse.ResultStatus;
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.dtos.TrackingResponse;
+import com.ecomm.logistics.models.Tracking.TrackingStatus;
+import com.ecomm.logistics.repositories.TrackingEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecomm.logistics.TestFixtures.event;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "logistics.tracking.events.max-batch-size=5")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TrackingEventServiceTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2026, 5, 4, 8, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private TrackingService trackingService;
+    @Autowired
+    private TrackingEventService eventService;
+    @Autowired
+    private TrackingEventRepository eventRepository;
+    @MockitoSpyBean
+    private TrackingRollupService rollupService;
+
+    private String orgId;
+    private String fulfillmentId;
+    private String trackingId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Event batches");
+        orgId = store.orgId();
+        String orderId = orderService.createOrder(TestFixtures.order(orgId, store.websiteId(), "BATCH-1", "15.00"))
+                .getId();
+
+        FulfillmentRequest fulfillment = new FulfillmentRequest();
+        fulfillment.setExternalFulfillmentId("FUL-" + UUID.randomUUID());
+        fulfillmentId = fulfillmentService.createFulfillment(orderId, fulfillment).getId();
+
+        TrackingRequest tracking = new TrackingRequest();
+        tracking.setTrackingNumber("1Z-" + UUID.randomUUID());
+        tracking.setCarrier("UPS");
+        trackingId = trackingService.createTracking(fulfillmentId, tracking).getId();
+    }
+
+    @Test
+    void mixedBatchInsertsEachNewEventOnceAndRollsUpTheLatest() {
+        String storedId = eventService.ingestEvent(orgId, trackingId, event("IN_TRANSIT", MORNING)).getId();
+        clearInvocations(rollupService);
+
+        // The latest event sits in the middle of the batch, not at the end
+        List<TrackingEventBatchResponse> results = eventService.ingestEvents(orgId, trackingId, List.of(
+                event("IN_TRANSIT", MORNING.plusHours(1)),
+                event("IN_TRANSIT", MORNING),
+                event("DELIVERED", MORNING.plusHours(3)),
+                event("IN_TRANSIT", MORNING.plusHours(1)),
+                event("OUT_FOR_DELIVERY", MORNING.plusHours(2))));
+
+        assertThat(results).extracting(TrackingEventBatchResponse::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(TrackingEventBatchResponse::getResult).containsExactly(
+                ResultStatus.CREATED, ResultStatus.DUPLICATE, ResultStatus.CREATED, ResultStatus.DUPLICATE,
+                ResultStatus.CREATED);
+        assertThat(results.get(1).getEvent().getId()).isEqualTo(storedId);
+        assertThat(results.get(3).getEvent().getId()).isEqualTo(results.get(0).getEvent().getId());
+        assertThat(eventRepository.findByTrackingIdOrderByEventTimeDesc(trackingId)).hasSize(4);
+
+        verify(rollupService, times(1)).applyRollup(any(), any());
+        verify(rollupService).applyRollup(any(), argThat(event -> event.getEventTime().equals(MORNING.plusHours(3))));
+        TrackingResponse tracking = trackingService.getTrackingById(fulfillmentId, trackingId);
+        assertThat(tracking.getStatus()).isEqualTo(TrackingStatus.DELIVERED);
+        assertThat(tracking.getLastEventAt()).isEqualTo(MORNING.plusHours(3));
+    }
+
+    @Test
+    void batchOfOnlyKnownEventsLeavesTheRollupAlone() {
+        eventService.ingestEvent(orgId, trackingId, event("DELIVERED", MORNING));
+        clearInvocations(rollupService);
+
+        List<TrackingEventBatchResponse> results = eventService.ingestEvents(orgId, trackingId,
+                List.of(event("DELIVERED", MORNING), event("DELIVERED", MORNING)));
+
+        assertThat(results).extracting(TrackingEventBatchResponse::getResult)
+                .containsExactly(ResultStatus.DUPLICATE, ResultStatus.DUPLICATE);
+        verify(rollupService, never()).applyRollup(any(), any());
+    }
+
+    @Test
+    void batchOverTheLimitIsRejectedWithoutStoringAnything() throws Exception {
+        List<TrackingEventRequest> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            events.add(event("IN_TRANSIT", MORNING.plusMinutes(i)));
+        }
+
+        mockMvc.perform(post("/fulfillments/{fulfillmentId}/tracking/{trackingId}/events/batch", fulfillmentId,
+                        trackingId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(events)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(eventRepository.findByTrackingIdOrderByEventTimeDesc(trackingId)).isEmpty();
+        mockMvc.perform(post("/fulfillments/{fulfillmentId}/tracking/{trackingId}/events/batch", fulfillmentId,
+                        trackingId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonMapper.writeValueAsString(events.subList(0, 5))))
+                .andExpect(status().isOk());
+        assertThat(eventRepository.findByTrackingIdOrderByEventTimeDesc(trackingId)).hasSize(5);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.TrackingEventRequest;
+import com.ecomm.logistics.dtos.TrackingEventResponse;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TrackingNumberIngestTest {
+
+    private static final String NUMBER = "1Z999AA10123456784";
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private TrackingService trackingService;
+    @Autowired
+    private TrackingEventService eventService;
+
+    private String orgId;
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Webhooks");
+        orgId = store.orgId();
+        orderId = orderService.createOrder(TestFixtures.order(orgId, store.websiteId(), "WEBHOOK-1", "20.00"))
+                .getId();
+    }
+
+    @Test
+    void eventsAreIngestedByTrackingNumberAndDeduplicated() {
+        String trackingId = createTracking(NUMBER);
+
+        TrackingEventResponse first = eventService.ingestEventByTrackingNumber(orgId, NUMBER, event("D"));
+        TrackingEventResponse replay = eventService.ingestEventByTrackingNumber(orgId, NUMBER, event("D"));
+
+        assertThat(first.getTrackingId()).isEqualTo(trackingId);
+        assertThat(replay.getId()).isEqualTo(first.getId());
+        assertThat(eventService.ingestEventsByTrackingNumber(orgId, NUMBER, List.of(event("D"), event("I"))))
+                .extracting(result -> result.getEvent().getTrackingId())
+                .containsOnly(trackingId);
+    }
+
+    @Test
+    void reusedNumberResolvesToTheNewestTrackingUntilItIsDeleted() {
+        String older = createTracking(NUMBER);
+        assertThat(eventService.ingestEventByTrackingNumber(orgId, NUMBER, event("M")).getTrackingId())
+                .isEqualTo(older);
+
+        String fulfillmentId = createFulfillment();
+        String newer = trackingService.createTracking(fulfillmentId, tracking(NUMBER)).getId();
+        assertThat(eventService.ingestEventByTrackingNumber(orgId, NUMBER, event("I")).getTrackingId())
+                .isEqualTo(newer);
+
+        trackingService.deleteTracking(fulfillmentId, newer);
+        assertThat(eventService.ingestEventByTrackingNumber(orgId, NUMBER, event("X")).getTrackingId())
+                .isEqualTo(older);
+    }
+
+    @Test
+    void unknownNumberIsNotFound() {
+        createTracking(NUMBER);
+
+        assertThatThrownBy(() -> eventService.ingestEventByTrackingNumber(orgId, "UNKNOWN", event("D")))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> eventService.ingestEventByTrackingNumber("ORG-OTHER", NUMBER, event("D")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private String createTracking(String number) {
+        return trackingService.createTracking(createFulfillment(), tracking(number)).getId();
+    }
+
+    private String createFulfillment() {
+        FulfillmentRequest fulfillment = new FulfillmentRequest();
+        fulfillment.setExternalFulfillmentId("FUL-" + UUID.randomUUID());
+        return fulfillmentService.createFulfillment(orderId, fulfillment).getId();
+    }
+
+    private static TrackingRequest tracking(String number) {
+        TrackingRequest request = new TrackingRequest();
+        request.setTrackingNumber(number);
+        request.setCarrier("UPS");
+        return request;
+    }
+
+    private static TrackingEventRequest event(String code) {
+        return TestFixtures.event(code, LocalDateTime.of(2026, 6, 1, 9, 30));
+    }
+}
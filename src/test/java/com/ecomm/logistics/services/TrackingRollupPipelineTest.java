@@ -0,0 +1,172 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.TestFixtures;
+import com.ecomm.logistics.TestFixtures.Store;
+import com.ecomm.logistics.dtos.FulfillmentRequest;
+import com.ecomm.logistics.dtos.TrackingRequest;
+import com.ecomm.logistics.dtos.TrackingResponse;
+import com.ecomm.logistics.models.Tracking.TrackingStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.ecomm.logistics.TestFixtures.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "logistics.tracking.async.enabled=true")
+@ActiveProfiles("test")
+class TrackingRollupPipelineTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private FulfillmentService fulfillmentService;
+    @Autowired
+    private TrackingService trackingService;
+    @Autowired
+    private TrackingEventService eventService;
+    @Autowired
+    private TrackingRollupService rollupService;
+    @Autowired
+    private TrackingRollupPipeline pipeline;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String orgId;
+    private String fulfillmentId;
+    private String trackingId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new TestFixtures(context).store("Rollups");
+        orgId = store.orgId();
+        String orderId = orderService.createOrder(TestFixtures.order(orgId, store.websiteId(), "ROLLUP-1", "20.00"))
+                .getId();
+
+        FulfillmentRequest fulfillment = new FulfillmentRequest();
+        fulfillment.setExternalFulfillmentId("FUL-" + UUID.randomUUID());
+        fulfillmentId = fulfillmentService.createFulfillment(orderId, fulfillment).getId();
+
+        TrackingRequest tracking = new TrackingRequest();
+        tracking.setTrackingNumber("1Z-" + UUID.randomUUID());
+        tracking.setCarrier("UPS");
+        trackingId = trackingService.createTracking(fulfillmentId, tracking).getId();
+    }
+
+    @Test
+    void eventsForOneParcelRollUpToTheLatestWhateverTheArrivalOrder() throws Exception {
+        eventService.ingestEvent(orgId, trackingId, event("DELIVERED", MORNING.plusHours(10)));
+
+        // Older scans arriving late and concurrently, alongside an API update of the row
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                LocalDateTime eventTime = MORNING.plusHours(i);
+                futures.add(executor.submit(() -> eventService.ingestEvent(orgId, trackingId,
+                        event("IN_TRANSIT", eventTime))));
+            }
+            TrackingRequest patch = new TrackingRequest();
+            patch.setTrackingUrl("https://track.example.com/rollups");
+            futures.add(executor.submit(() -> trackingService.patchTracking(fulfillmentId, trackingId, patch)));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        awaitRollups();
+
+        TrackingResponse tracking = trackingService.getTrackingById(fulfillmentId, trackingId);
+        assertThat(tracking.getStatus()).isEqualTo(TrackingStatus.DELIVERED);
+        assertThat(tracking.getLastEventAt()).isEqualTo(MORNING.plusHours(10));
+        assertThat(tracking.getTrackingUrl()).isEqualTo("https://track.example.com/rollups");
+    }
+
+    @Test
+    void pendingRollupsLeftByARestartAreRecovered() throws Exception {
+        eventService.ingestEvent(orgId, trackingId, event("IN_TRANSIT", MORNING));
+        eventService.ingestEvent(orgId, trackingId, event("OUT_FOR_DELIVERY", MORNING.plusHours(2)));
+        awaitRollups();
+        simulateCrashBeforeRollup();
+
+        pipeline.recoverPendingRollups();
+        awaitRollups();
+
+        TrackingResponse tracking = trackingService.getTrackingById(fulfillmentId, trackingId);
+        assertThat(tracking.getStatus()).isEqualTo(TrackingStatus.OUT_FOR_DELIVERY);
+        assertThat(tracking.getLastEventAt()).isEqualTo(MORNING.plusHours(2));
+    }
+
+    @Test
+    void disabledPipelineRecoversInline() throws Exception {
+        eventService.ingestEvent(orgId, trackingId, event("EXCEPTION", MORNING));
+        awaitRollups();
+        simulateCrashBeforeRollup();
+
+        TrackingRollupPipeline disabled = new TrackingRollupPipeline(rollupService, new SimpleMeterRegistry(),
+                false, 4);
+        assertThat(disabled.isEnabled()).isFalse();
+        disabled.recoverPendingRollups();
+
+        // No workers to wait for: the rollup is applied before recovery returns
+        assertThat(rollupService.findTrackingIdsWithPendingRollup()).doesNotContain(trackingId);
+        TrackingResponse tracking = trackingService.getTrackingById(fulfillmentId, trackingId);
+        assertThat(tracking.getStatus()).isEqualTo(TrackingStatus.EXCEPTION);
+        assertThat(tracking.getLastEventAt()).isEqualTo(MORNING);
+    }
+
+    @Test
+    void asyncRollupRecordsATrackingUpdate() throws Exception {
+        eventService.ingestEvent(orgId, trackingId, event("OUT_FOR_DELIVERY", MORNING));
+        awaitRollups();
+
+        List<String> updates = jdbcTemplate.queryForList("SELECT payload FROM outbox_events"
+                + " WHERE entity_type = 'TRACKING' AND change_type = 'UPDATED' AND entity_id = ?",
+                String.class, trackingId);
+        assertThat(updates).singleElement().asString().contains("OUT_FOR_DELIVERY");
+    }
+
+    // The events were appended and flagged, but the process died before any worker
+    // folded them into the tracking row. The row lock keeps a worker that is still
+    // finishing an earlier pass from clearing the flags set here.
+    private void simulateCrashBeforeRollup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT id FROM tracking WHERE id = ? FOR UPDATE", String.class, trackingId);
+            jdbcTemplate.update("UPDATE tracking_events SET rollup_pending = TRUE WHERE tracking_id = ?",
+                    trackingId);
+            jdbcTemplate.update("UPDATE tracking SET status = 'UNKNOWN', last_event_at = NULL WHERE id = ?",
+                    trackingId);
+        });
+    }
+
+    private void awaitRollups() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (rollupService.findTrackingIdsWithPendingRollup().contains(trackingId)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(rollupService.findTrackingIdsWithPendingRollup()).doesNotContain(trackingId);
+    }
+}
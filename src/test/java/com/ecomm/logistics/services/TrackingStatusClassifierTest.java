@@ -0,0 +1,60 @@
+package com.ecomm.logistics.services;
+
+import com.ecomm.logistics.models.Tracking.TrackingStatus;
+import com.ecomm.logistics.models.TrackingEvent.EventSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the rule tables shipped in application.properties
+class TrackingStatusClassifierTest {
+
+    private static TrackingStatusClassifier classifier;
+
+    @BeforeAll
+    static void loadRules() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new ResourcePropertySource("classpath:application.properties"));
+        classifier = new TrackingStatusClassifier(environment);
+    }
+
+    @ParameterizedTest(name = "{0}/{1}: {2} -> {3}")
+    @CsvSource({
+            "USPS, CARRIER, DELIVERY_EXCEPTION, EXCEPTION",
+            "USPS, CARRIER, Delivered, DELIVERED",
+            "USPS, CARRIER, out-for-delivery, OUT_FOR_DELIVERY",
+            "USPS, CARRIER, EN_ROUTE, UNKNOWN",
+            "USPS, CARRIER, In Transit, IN_TRANSIT",
+            "USPS, CARRIER, PICKED_UP, IN_TRANSIT",
+            "USPS, CARRIER, DELIVERY_ATTEMPTED, EXCEPTION",
+            "DHL, CARRIER, Shipping Label Created, LABEL_CREATED",
+            "ups, CARRIER, D, DELIVERED",
+            "' Ups ', CARRIER, D, DELIVERED",
+            "UPS, CARRIER, X, EXCEPTION",
+            "UPS, CARRIER, DELIVERED, DELIVERED",
+            "UPS, CARRIER, I, IN_TRANSIT",
+            "UPS, CARRIER, O, OUT_FOR_DELIVERY",
+            "UPS, CARRIER, M, LABEL_CREATED",
+            "UPS, CARRIER, IN_TRANSIT, IN_TRANSIT",
+            "UPS, CARRIER, OUT_FOR_DELIVERY, OUT_FOR_DELIVERY",
+            "UPS, CARRIER, EXCEPTION, EXCEPTION",
+            "FedEx, CARRIER, OD, OUT_FOR_DELIVERY",
+            "FedEx, CARRIER, DE, EXCEPTION",
+            "USPS, CARRIER, D, UNKNOWN",
+            "USPS, SHOPIFY, label_printed, LABEL_CREATED",
+            "USPS, SHOPIFY, attempted_delivery, EXCEPTION",
+            "USPS, SHOPIFY, ready_for_pickup, OUT_FOR_DELIVERY"
+    })
+    void classifiesByMostSpecificTableAndMostSevereMatch(String carrier, EventSource source, String code,
+            TrackingStatus expected) {
+        assertThat(classifier.classify(carrier, source, code)).isEqualTo(expected);
+        // Second call is served from the per-table cache and must agree
+        assertThat(classifier.classify(carrier, source, code)).isEqualTo(expected);
+    }
+}
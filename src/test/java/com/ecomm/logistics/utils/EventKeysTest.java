@@ -0,0 +1,59 @@
+package com.ecomm.logistics.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventKeysTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_932);
+
+    @Test
+    void fieldBoundariesAreNotAmbiguous() {
+        assertThat(EventKeys.of("ORG1", "TRK2", TIME, "D"))
+                .isNotEqualTo(EventKeys.of("ORG1T", "RK2", TIME, "D"))
+                .isNotEqualTo(EventKeys.of("ORG1", "TRK2D", TIME, ""));
+    }
+
+    @Test
+    void timeIsKeyedAtTheStoredMicrosecondPrecision() {
+        assertThat(EventKeys.of("ORG1", "TRK2", TIME, "D"))
+                .isEqualTo(EventKeys.of("ORG1", "TRK2", TIME.withNano(535_897_000), "D"))
+                .isNotEqualTo(EventKeys.of("ORG1", "TRK2", TIME.withNano(535_898_000), "D"));
+    }
+
+    @Test
+    void matchesTheDocumentedEncodingForNonAsciiInput() throws Exception {
+        String code = "Zugestellt \u00e0 M\u00fcnchen \u2713 \ud83d\udce6";
+
+        assertThat(EventKeys.of("ORG1", "TRK2", TIME, code))
+                .hasSize(EventKeys.LENGTH)
+                .isEqualTo(reference("ORG1", "TRK2", TIME, code));
+    }
+
+    private static byte[] reference(String orgId, String trackingId, LocalDateTime time, String code)
+            throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, orgId);
+        writeString(out, trackingId);
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano() / 1000);
+        writeString(out, code);
+        return MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecomm.logistics.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorTest {
+
+    @Test
+    void idsKeepPrefixAndSortInCreationOrder() {
+        IdGenerator generator = new IdGenerator(7, false);
+        String previous = generator.nextId("ORD");
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.nextId("ORD");
+            assertThat(next).startsWith("ORD").hasSize(16);
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverCollide() throws Exception {
+        IdGenerator generator = new IdGenerator(3, false);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.nextId("EVT"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+
+    @Test
+    void differentNodesProduceDifferentIds() {
+        assertThat(new IdGenerator(1, false).nextLong()).isNotEqualTo(new IdGenerator(2, false).nextLong());
+    }
+
+    @Test
+    void missingNodeIdFailsUnlessRandomIsAllowed() {
+        assertThatThrownBy(() -> new IdGenerator(-1, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("NODE_ID");
+        assertThatThrownBy(() -> new IdGenerator(1024, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new IdGenerator(-1, true).nextId("ORD")).startsWith("ORD");
+    }
+}
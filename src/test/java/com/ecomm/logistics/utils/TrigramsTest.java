@@ -0,0 +1,27 @@
+package com.ecomm.logistics.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramsTest {
+
+    @Test
+    void gramsAreDistinctAndSorted() {
+        assertThat(Trigrams.of("aaaa")).hasSize(1);
+        assertThat(Trigrams.of("abcd")).hasSize(2).isSorted();
+        assertThat(Trigrams.of("ab")).isEmpty();
+        assertThat(Trigrams.of(null)).isEmpty();
+    }
+
+    // The LIKE re-check compares under an accent- and case-insensitive collation,
+    // so the prefilter has to let the same rows through
+    @Test
+    void foldsCaseAccentsAndCompatibilityForms() {
+        assertThat(Trigrams.of("CAFÉ")).isEqualTo(Trigrams.of("cafe"));
+        // Precomposed and combining forms of the same letter
+        assertThat(Trigrams.of("caf\u00e9")).isEqualTo(Trigrams.of("cafe\u0301"));
+        assertThat(Trigrams.of("\ufb01le")).isEqualTo(Trigrams.of("file"));
+        assertThat(Trigrams.of("\uff21\uff42\uff43")).isEqualTo(Trigrams.of("abc"));
+    }
+}